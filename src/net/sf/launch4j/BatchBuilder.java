@@ -0,0 +1,164 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.launch4j.config.Config;
+
+/**
+ * Builds configurations on a pool of threads. Submitting blocks while all threads are busy, so the configurations
+ * can be produced while the first ones are built. A failed build doesn't stop the others.
+ */
+public class BatchBuilder {
+    private final Log _log;
+    private final File _basedir;
+    private final ExecutorService _executor;
+    private final Semaphore _slots;
+    private final List<String> _failures = Collections.synchronizedList(new ArrayList<String>());
+    private final List<File> _skipped = Collections.synchronizedList(new ArrayList<File>());
+    private int _submitted;
+    private BuildListener _listener;
+    private boolean _stamped;
+
+    /**
+     * @param threads Maximum number of concurrent builds, or 0 to use the number of processors.
+     */
+    public BatchBuilder(Log log, File basedir, int threads) {
+        int n = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        _log = log;
+        _basedir = basedir;
+        _executor = Executors.newFixedThreadPool(n);
+        _slots = new Semaphore(n);
+    }
+
+    /**
+     * Must be set before the first submit.
+     */
+    public void setBuildListener(BuildListener listener) {
+        _listener = listener;
+    }
+
+    /**
+     * Skips the configurations whose outputs are up to date and stamps the ones built, see {@link BuildStamp}.
+     * Must be set before the first submit.
+     */
+    public void setStamped(boolean stamped) {
+        _stamped = stamped;
+    }
+
+    public void submit(final Config c) throws InterruptedException {
+        _slots.acquire();
+        _submitted++;
+        _executor.execute(new Runnable() {
+            public void run() {
+                try {
+                    BuildStamp stamp = _stamped ? new BuildStamp(c, _basedir) : null;
+
+                    if (stamp != null && stamp.isUpToDate()) {
+                        _log.append(Messages.getString("BatchBuilder.up.to.date", c.getOutfile().getPath()));
+                        _skipped.addAll(stamp.getOutfiles());
+                        return;
+                    }
+
+                    Builder b = new Builder(_log, _basedir);
+                    b.setBuildListener(_listener);
+                    b.build(c);
+
+                    if (stamp != null) {
+                        stamp.save();
+                    }
+                } catch (BuilderException e) {
+                    fail(c, e.getMessage());
+                } catch (IOException e) {
+                    fail(c, e.getMessage());
+                } catch (Throwable t) {
+                    // Errors too, otherwise they'd end the worker unnoticed and await() would report no failure
+                    fail(c, t.toString());
+                } finally {
+                    _slots.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for the submitted builds to finish, no builds can be submitted afterwards.
+     *
+     * @return Error messages of the failed builds.
+     */
+    public List<String> await() {
+        _executor.shutdown();
+        try {
+            _executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            _executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (_failures) {
+            return new ArrayList<String>(_failures);
+        }
+    }
+
+    /**
+     * @return Outputs of the configurations skipped because they were up to date.
+     */
+    public List<File> getSkipped() {
+        synchronized (_skipped) {
+            return new ArrayList<File>(_skipped);
+        }
+    }
+
+    public int getSubmitted() {
+        return _submitted;
+    }
+
+    private void fail(Config c, String msg) {
+        String failure = c.getOutfile().getPath() + ": " + msg;
+        _log.append(failure);
+        _failures.add(failure);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+
+/**
+ * Receives the progress of a build, e.g. to collect metrics. Variants are built concurrently, so the methods may be
+ * called from several threads.
+ */
+public interface BuildListener {
+    String PHASE_STAGE = "stage";
+    String PHASE_IMAGES = "images";
+    String PHASE_RESOURCES = "resources";
+    String PHASE_LINK = "link";
+    String PHASE_PATCH = "patch";
+    String PHASE_WRAP = "wrap";
+    String PHASE_SIGN = "sign";
+    String PHASE_SIZE = "size";
+
+    void phaseStarted(String phase);
+
+    /**
+     * Called only if the phase completed successfully.
+     */
+    void phaseFinished(String phase, long millis);
+
+    /**
+     * @param command Name of the tool, e.g. windres or ld.
+     */
+    void processFinished(String command, long millis);
+
+    /**
+     * Called when an executable is complete.
+     */
+    void fileWritten(File file, long bytes);
+}
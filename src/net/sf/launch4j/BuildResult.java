@@ -0,0 +1,91 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+
+import net.sf.launch4j.pe.PeDigester;
+
+/**
+ * Output of a build with the PE checksum and the Authenticode digest, computed while the
+ * executable was written.
+ */
+public class BuildResult {
+    private final File _outfile;
+    private final long _size;
+    private final long _checksum;
+    private final String _digestAlgorithm;
+    private final byte[] _digest;
+
+    public BuildResult(File outfile, PeDigester digester) {
+        _outfile = outfile;
+        _size = digester.getLength();
+        _checksum = digester.getChecksum();
+        _digestAlgorithm = digester.getAlgorithm();
+        _digest = digester.getDigest();
+    }
+
+    public File getOutfile() {
+        return _outfile;
+    }
+
+    public long getSize() {
+        return _size;
+    }
+
+    /**
+     * @return Checksum stored in the optional header.
+     */
+    public long getChecksum() {
+        return _checksum;
+    }
+
+    public String getDigestAlgorithm() {
+        return _digestAlgorithm;
+    }
+
+    /**
+     * @return Authenticode digest, the one signed by the certificate table for signed executables.
+     */
+    public byte[] getDigest() {
+        return _digest.clone();
+    }
+
+    public String getDigestHex() {
+        return Util.toHex(_digest);
+    }
+}
@@ -0,0 +1,222 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import net.sf.launch4j.config.Config;
+import net.sf.launch4j.config.ConfigPersister;
+import net.sf.launch4j.config.Variant;
+
+/**
+ * Inputs of a build, used to skip it when nothing changed. The stamp holds a digest of the configuration, including
+ * overridden values and the Launch4j version, and the size and modification time of the input and output files.
+ * Stamps are kept in the cache directory, one per output file.
+ */
+public class BuildStamp {
+    private static final String CONFIG = "config";
+    private static final String INPUT = "in.";
+    private static final String OUTPUT = "out.";
+
+    private final Properties _inputs = new Properties();
+    private final List<File> _outfiles = new ArrayList<File>();
+    private final File _stampDir;
+
+    /**
+     * Records the current state of the inputs, call before building.
+     */
+    public BuildStamp(Config c) throws IOException {
+        this(c, Util.getJarBasedir());
+    }
+
+    /**
+     * @param bindir Launch4j directory the header objects and libs are relative to, the builder's basedir.
+     */
+    public BuildStamp(Config c, File bindir) throws IOException {
+        ConfigPersister persister = ConfigPersister.getInstance();
+        File basedir = persister.getConfigPath();
+        _stampDir = Util.getCacheDir("builds");
+        _inputs.setProperty(CONFIG, digest(Util.getProperties().getProperty("version") + '\n'
+                + (basedir != null ? basedir.getAbsolutePath() : "") + '\n' + persister.toXML(c)));
+
+        if (!c.isDontWrapJar()) {
+            addInput(Util.getAbsoluteFile(basedir, c.getJar()));
+        }
+
+        if (c.isMergeClassPath() && c.getClassPath() != null && c.getClassPath().getPaths() != null) {
+            // Variants merge the jar once, relative to the first variant's output like the builder does
+            File outdir = persister.getOutputPath(c.isVariants() ? c.getVariants().get(0).apply(c) : c);
+
+            for (String path : c.getClassPath().getPaths()) {
+                addInput(Util.getAbsoluteFile(outdir, new File(path)));
+            }
+        }
+
+        if (c.isCustomHeaderObjects()) {
+            for (String path : c.getHeaderObjects()) {
+                addInput(Util.getAbsoluteFile(bindir, new File(path)));
+            }
+        }
+
+        if (c.isCustomLibs()) {
+            for (String path : c.getLibs()) {
+                addInput(Util.getAbsoluteFile(bindir, new File(path)));
+            }
+        }
+
+        if (c.getIcon() != null && !c.getIcon().getPath().equals("")) {
+            addInput(Util.getAbsoluteFile(basedir, c.getIcon()));
+        }
+
+        if (c.getManifest() != null && !c.getManifest().getPath().equals("")) {
+            addInput(Util.getAbsoluteFile(basedir, c.getManifest()));
+        }
+
+        if (c.getSplash() != null && c.getSplash().getFile() != null) {
+            addInput(Util.getAbsoluteFile(basedir, c.getSplash().getFile()));
+        }
+
+        if (c.getSigning() != null && c.getSigning().getKeystore() != null) {
+            addInput(Util.getAbsoluteFile(basedir, c.getSigning().getKeystore()));
+        }
+
+        if (c.isVariants()) {
+            for (Variant v : c.getVariants()) {
+                _outfiles.add(persister.getOutputFile(v.apply(c)));
+            }
+        } else {
+            _outfiles.add(persister.getOutputFile(c));
+        }
+    }
+
+    /**
+     * @return true if the outputs exist and were built from the same configuration and unchanged inputs.
+     */
+    public boolean isUpToDate() throws IOException {
+        Properties current = getState();
+
+        for (File outfile : _outfiles) {
+            File stamp = getStampFile(outfile);
+
+            if (!stamp.isFile() || !current.equals(load(stamp))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Stores the stamp of each output, call after a successful build.
+     */
+    public void save() throws IOException {
+        Properties state = getState();
+
+        if (!_stampDir.isDirectory() && !_stampDir.mkdirs()) {
+            throw new IOException(Messages.getString("BuildStamp.dir", _stampDir.getPath()));
+        }
+
+        for (File outfile : _outfiles) {
+            OutputStream os = null;
+            try {
+                os = new FileOutputStream(getStampFile(outfile));
+                state.store(os, outfile.getPath());
+            } finally {
+                Util.close(os);
+            }
+        }
+    }
+
+    public List<File> getOutfiles() {
+        return _outfiles;
+    }
+
+    private Properties getState() {
+        Properties state = new Properties();
+        state.putAll(_inputs);
+
+        for (File outfile : _outfiles) {
+            state.setProperty(OUTPUT + outfile.getAbsolutePath(), getFileState(outfile));
+        }
+
+        return state;
+    }
+
+    private void addInput(File f) {
+        _inputs.setProperty(INPUT + f.getAbsolutePath(), getFileState(f));
+    }
+
+    static String getFileState(File f) {
+        return f.isFile() ? f.length() + ":" + f.lastModified() : "-";
+    }
+
+    private File getStampFile(File outfile) throws IOException {
+        return new File(_stampDir, digest(outfile.getCanonicalPath()) + ".properties");
+    }
+
+    private static Properties load(File f) throws IOException {
+        Properties props = new Properties();
+        InputStream is = null;
+        try {
+            is = new FileInputStream(f);
+            props.load(is);
+        } finally {
+            Util.close(is);
+        }
+        return props;
+    }
+
+    static String digest(String s) {
+        try {
+            return Util.toHex(MessageDigest.getInstance("SHA-256").digest(s.getBytes("UTF-8")));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
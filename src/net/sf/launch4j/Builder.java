@@ -37,16 +37,34 @@
 package net.sf.launch4j;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.StringTokenizer;
 
 import net.sf.launch4j.binding.InvariantViolationException;
+import net.sf.launch4j.config.ClassPath;
 import net.sf.launch4j.config.Config;
 import net.sf.launch4j.config.ConfigPersister;
+import net.sf.launch4j.config.SizeReport;
+import net.sf.launch4j.config.Variant;
+import net.sf.launch4j.pe.PeDigester;
+import net.sf.launch4j.pe.PeImage;
+import net.sf.launch4j.pe.ResourcePatcher;
 
 /**
  * @author Copyright (C) 2005 Grzegorz Kowal
@@ -54,6 +72,10 @@ import net.sf.launch4j.config.ConfigPersister;
 public class Builder {
     private final Log _log;
     private final File _basedir;
+    private BuildResult _result;
+    private BuildListener _listener;
+    private final Set<Process> _processes = Collections.synchronizedSet(new HashSet<Process>());
+    private volatile boolean _cancelled;
 
     public Builder(Log log) {
         _log = log;
@@ -65,57 +87,72 @@ public class Builder {
         _basedir = basedir;
     }
 
+    public void setBuildListener(BuildListener listener) {
+        _listener = listener;
+    }
+
     /**
-     * @return Output file path.
+     * Stops the build at the next phase and kills the running windres or ld, the partial output is deleted. Can be
+     * called from any thread.
+     */
+    public void cancel() {
+        _cancelled = true;
+
+        synchronized (_processes) {
+            for (Process p : _processes) {
+                p.destroy();
+            }
+        }
+    }
+
+    /**
+     * @return Output file, checksum and digest of the last successful build or patch, or null.
+     */
+    public BuildResult getResult() {
+        return _result;
+    }
+
+    /**
+     * @return Output file path, the last variant's if variants are configured.
      */
     public File build() throws BuilderException {
-        final Config c = ConfigPersister.getInstance().getConfig();
+        return build(ConfigPersister.getInstance().getConfig());
+    }
+
+    /**
+     * Builds a configuration other than the current one, with paths relative to the current configuration's
+     * directory. Several configurations can be built at the same time by separate builders.
+     *
+     * @return Output file path, the last variant's if variants are configured.
+     */
+    public File build(Config c) throws BuilderException {
         try {
             c.validate();
         } catch (InvariantViolationException e) {
             throw new BuilderException(e.getMessage());
         }
-        File rc = null;
-        File ro = null;
+
+        if (c.isVariants()) {
+            return buildVariants(c);
+        }
+
+        List<File> temps = new ArrayList<File>();
         File outfile = null;
-        FileInputStream is = null;
-        FileOutputStream os = null;
         final RcBuilder rcb = new RcBuilder();
         try {
             if (c.isJniApplication()) {
                 _log.append("WARNING: Some features are not implemented in JNI headers, see documentation.");
             }
 
-            rc = rcb.build(c);
-            ro = Util.createTempFile("o");
-            outfile = ConfigPersister.getInstance().getOutputFile();
+            File jar = stageJar(c, rcb, temps);
 
-            Cmd resCmd = new Cmd(_basedir);
-            resCmd.addExe("windres").add(Util.WINDOWS_OS ? "--preprocessor=type" : "--preprocessor=cat")
-                    .add("-J rc -O coff -F pe-i386").addAbsFile(rc).addAbsFile(ro);
-            _log.append(Messages.getString("Builder.compiling.resources"));
-            resCmd.exec(_log);
-
-            Cmd ldCmd = new Cmd(_basedir);
-            ldCmd.addExe("ld").add("-mi386pe").add("--oformat pei-i386").add("--dynamicbase").add("--nxcompat")
-                    .add("--no-seh").add(c.isGuiApplication() ? "--subsystem windows" : "--subsystem console").add("-s") // strip
-                                                                                                                         // symbols
-                    .addFiles(c.getHeaderObjects()).addAbsFile(ro).addFiles(c.getLibs()).add("-o").addAbsFile(outfile);
-            _log.append(Messages.getString("Builder.linking"));
-            ldCmd.exec(_log);
-
-            if (!c.isDontWrapJar()) {
-                _log.append(Messages.getString("Builder.wrapping"));
-                int len;
-                byte[] buffer = new byte[1024];
-                is = new FileInputStream(
-                        Util.getAbsoluteFile(ConfigPersister.getInstance().getConfigPath(), c.getJar()));
-                os = new FileOutputStream(outfile, true);
-                while ((len = is.read(buffer)) > 0) {
-                    os.write(buffer, 0, len);
-                }
+            if (c.isOptimizeImages()) {
+                optimizeImages(c, rcb);
             }
-            _log.append(Messages.getString("Builder.success") + outfile.getPath());
+
+            outfile = ConfigPersister.getInstance().getOutputFile(c);
+            link(c, rcb, outfile, temps);
+            _result = finish(c, jar, outfile);
             return outfile;
         } catch (IOException e) {
             Util.delete(outfile);
@@ -123,23 +160,617 @@ public class Builder {
             throw new BuilderException(e);
         } catch (ExecException e) {
             Util.delete(outfile);
-            String msg = e.getMessage();
-            if (msg != null && msg.indexOf("windres") != -1) {
-                if (e.getErrLine() != -1) {
-                    _log.append(Messages.getString("Builder.line.has.errors", String.valueOf(e.getErrLine())));
-                    _log.append(rcb.getLine(e.getErrLine()));
+            logResourceError(e, rcb);
+            throw new BuilderException(e);
+        } finally {
+            deleteAll(temps);
+        }
+    }
+
+    /**
+     * Builds all variants in one run. The jar is merged and flattened once and the header is linked once per header
+     * type. The other variants of the same type, e.g. localized ones, only get their resources patched into a copy
+     * of the linked header, then all variants are wrapped and signed in parallel.
+     *
+     * @return Output file path of the last variant.
+     */
+    private File buildVariants(Config c) throws BuilderException {
+        final List<Config> configs = new ArrayList<Config>();
+
+        for (Variant v : c.getVariants()) {
+            configs.add(v.apply(c));
+        }
+
+        final Map<String, File> headers = new HashMap<String, File>();
+        final List<File> temps = Collections.synchronizedList(new ArrayList<File>());
+        final RcBuilder shared = new RcBuilder();
+        RcBuilder rcb = shared;
+        File outfile = null;
+        _log.append(Messages.getString("Builder.variants", String.valueOf(configs.size())));
+        try {
+            final File jar = stageJar(configs.get(0), shared, temps);
+
+            if (c.isOptimizeImages()) {
+                optimizeImages(configs.get(0), shared);
+            }
+
+            final boolean[] linked = new boolean[configs.size()];
+
+            for (int i = 0; i < configs.size(); i++) {
+                Config vc = configs.get(i);
+
+                if (!headers.containsKey(vc.getHeaderType())) {
+                    outfile = ConfigPersister.getInstance().getOutputFile(vc);
+                    _log.append(Messages.getString("Builder.variant", outfile.getPath()));
+                    rcb = new RcBuilder();
+                    rcb.setOverrides(shared);
+                    link(vc, rcb, outfile, temps);
+                    File header = Util.createTempFile("exe");
+                    temps.add(header);
+                    Files.copy(outfile.toPath(), header.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    headers.put(vc.getHeaderType(), header);
+                    linked[i] = true;
+                }
+            }
+
+            outfile = null;
+            int threads = Math.max(1, Math.min(configs.size(), Runtime.getRuntime().availableProcessors()));
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<BuildResult>> results = new ArrayList<Future<BuildResult>>();
+            Exception failure = null;
+
+            try {
+                for (int i = 0; i < configs.size(); i++) {
+                    final Config vc = configs.get(i);
+                    final boolean patch = !linked[i];
+                    results.add(executor.submit(new Callable<BuildResult>() {
+                        public BuildResult call() throws Exception {
+                            return buildVariant(vc, patch ? headers.get(vc.getHeaderType()) : null, jar, shared,
+                                    temps);
+                        }
+                    }));
+                }
+
+                for (Future<BuildResult> result : results) {
+                    try {
+                        _result = result.get();
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+
+                        if (!(cause instanceof BuilderException)) {
+                            _log.append(String.valueOf(cause.getMessage()));
+                        }
+
+                        if (failure == null) {
+                            failure = cause instanceof Exception ? (Exception) cause : e;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            } finally {
+                executor.shutdownNow();
+            }
+
+            if (failure instanceof BuilderException) {
+                throw (BuilderException) failure;
+            } else if (failure != null) {
+                throw new BuilderException(failure);
+            }
+
+            return _result.getOutfile();
+        } catch (IOException e) {
+            Util.delete(outfile);
+            _log.append(e.getMessage());
+            throw new BuilderException(e);
+        } catch (ExecException e) {
+            Util.delete(outfile);
+            logResourceError(e, rcb);
+            throw new BuilderException(e);
+        } finally {
+            deleteAll(temps);
+        }
+    }
+
+    /**
+     * Patches the variant's resources into a copy of the linked header, if given, then wraps and signs it. The output
+     * file is deleted if the build fails.
+     */
+    private BuildResult buildVariant(Config vc, File header, File jar, RcBuilder shared, List<File> temps)
+            throws IOException, ExecException, BuilderException {
+        File outfile = ConfigPersister.getInstance().getOutputFile(vc);
+        boolean success = false;
+        RcBuilder rcb = null;
+        try {
+            if (header != null) {
+                _log.append(Messages.getString("Builder.variant", outfile.getPath()));
+                long start = phaseStarted(BuildListener.PHASE_PATCH);
+                Files.copy(header.toPath(), outfile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                ResourceBuilder resources = new ResourceBuilder();
+                resources.setOverrides(shared);
+
+                if (new ResourcePatcher(outfile).patch(resources.buildResources(vc))) {
+                    phaseFinished(BuildListener.PHASE_PATCH, start);
                 } else {
-                    _log.append(Messages.getString("Builder.generated.resource.file"));
-                    _log.append(rcb.getContent());
+                    rcb = new RcBuilder();
+                    rcb.setOverrides(shared);
+                    link(vc, rcb, outfile, temps);
                 }
             }
+
+            BuildResult result = finish(vc, jar, outfile);
+            success = true;
+            return result;
+        } catch (ExecException e) {
+            if (rcb != null) {
+                logResourceError(e, rcb);
+            }
+            throw e;
+        } finally {
+            if (!success) {
+                Util.delete(outfile);
+            }
+        }
+    }
+
+    /**
+     * Merges the classpath jars into the wrapped jar and flattens it, as configured. The staged copies are added to
+     * the temporary files.
+     *
+     * @return The jar to wrap or null.
+     */
+    private File stageJar(Config c, RcBuilder rcb, List<File> temps) throws IOException {
+        long start = phaseStarted(BuildListener.PHASE_STAGE);
+        File jar = null;
+
+        if (!c.isDontWrapJar()) {
+            jar = Util.getAbsoluteFile(ConfigPersister.getInstance().getConfigPath(), c.getJar());
+        }
+
+        if (c.isMergeClassPath()) {
+            _log.append(Messages.getString("Builder.merging.classpath"));
+            JarMerger merger = new JarMerger(_log);
+            jar = merger.merge(jar, c.getClassPath().getPaths(),
+                    ConfigPersister.getInstance().getOutputPath(c));
+            temps.add(jar);
+
+            ClassPath classPath = new ClassPath();
+            classPath.setMainClass(c.getClassPath().getMainClass());
+            classPath.setPaths(merger.getRemainingPaths());
+            rcb.setClassPath(classPath);
+            _log.append(Messages.getString("Builder.merged.classpath", String.valueOf(merger.getMergedJars())));
+        }
+
+        if (c.isFlattenMultiRelease()) {
+            _log.append(Messages.getString("Builder.flattening.jar"));
+            JarFlattener flattener = c.getJre() != null
+                    ? new JarFlattener(c.getJre().getMinVersion(), c.getJre().getMaxVersion())
+                    : new JarFlattener(null, null);
+            File flattened = flattener.flatten(jar);
+
+            if (flattened != null) {
+                jar = flattened;
+                temps.add(flattened);
+                _log.append(Messages.getString("Builder.flattened.jar", String.valueOf(flattener.getResolved()),
+                        String.valueOf(flattener.getRemoved()), String.valueOf(flattener.getKept())));
+            } else {
+                _log.append(Messages.getString("Builder.not.multi.release"));
+            }
+        }
+
+        phaseFinished(BuildListener.PHASE_STAGE, start);
+        return jar;
+    }
+
+    /**
+     * Compiles the resources and links the header into the output file.
+     */
+    private void link(Config c, RcBuilder rcb, File outfile, List<File> temps) throws IOException, ExecException {
+        File rc = rcb.build(c);
+        temps.add(rc);
+        File ro = Util.createTempFile("o");
+        temps.add(ro);
+
+        Cmd resCmd = new Cmd(_basedir);
+        resCmd.addExe("windres").add(Util.WINDOWS_OS ? "--preprocessor=type" : "--preprocessor=cat")
+                .add("-J rc -O coff -F pe-i386").addAbsFile(rc).addAbsFile(ro);
+        _log.append(Messages.getString("Builder.compiling.resources"));
+        long start = phaseStarted(BuildListener.PHASE_RESOURCES);
+        exec(resCmd, "windres");
+        phaseFinished(BuildListener.PHASE_RESOURCES, start);
+
+        Cmd ldCmd = new Cmd(_basedir);
+        ldCmd.addExe("ld").add("-mi386pe").add("--oformat pei-i386").add("--dynamicbase").add("--nxcompat")
+                .add("--no-seh").add(c.isGuiApplication() ? "--subsystem windows" : "--subsystem console").add("-s") // strip
+                                                                                                                     // symbols
+                .addFiles(c.getHeaderObjects()).addAbsFile(ro).addFiles(c.getLibs()).add("-o").addAbsFile(outfile);
+        _log.append(Messages.getString("Builder.linking"));
+        start = phaseStarted(BuildListener.PHASE_LINK);
+        exec(ldCmd, "ld");
+        phaseFinished(BuildListener.PHASE_LINK, start);
+    }
+
+    /**
+     * Wraps the jar into the linked executable, then signs it and checks its size.
+     */
+    private BuildResult finish(Config c, File jar, File outfile) throws IOException, BuilderException {
+        // The checksum and digest are computed while the jar is appended, sparing a read of the output
+        long start = phaseStarted(BuildListener.PHASE_WRAP);
+        PeDigester digester = PeDigester.digest(outfile, getDigestAlgorithm(c));
+
+        if (!c.isDontWrapJar()) {
+            _log.append(Messages.getString("Builder.wrapping"));
+            new JarWrapper().wrap(jar, outfile, digester);
+        }
+
+        digester.writeChecksum(outfile);
+        phaseFinished(BuildListener.PHASE_WRAP, start);
+        BuildResult result = new BuildResult(outfile, sign(c, outfile, digester));
+        fileWritten(result);
+        analyzeSize(c, outfile);
+        writeLinkRecord(c, outfile);
+        _log.append(Messages.getString("Builder.success") + outfile.getPath());
+        return result;
+    }
+
+    private void writeLinkRecord(Config c, File outfile) {
+        try {
+            new LinkRecord(c, _basedir).write(outfile);
+        } catch (IOException e) {
+            // Without the record the next patch just falls back to a full build
+        }
+    }
+
+    private void logResourceError(ExecException e, RcBuilder rcb) {
+        String msg = e.getMessage();
+        if (msg != null && msg.indexOf("windres") != -1) {
+            if (e.getErrLine() != -1) {
+                _log.append(Messages.getString("Builder.line.has.errors", String.valueOf(e.getErrLine())));
+                _log.append(rcb.getLine(e.getErrLine()));
+            } else {
+                _log.append(Messages.getString("Builder.generated.resource.file"));
+                _log.append(rcb.getContent());
+            }
+        }
+    }
+
+    private void deleteAll(List<File> files) {
+        for (File f : files) {
+            Util.delete(f);
+        }
+    }
+
+    /**
+     * Replaces the resources of the existing output file, without compiling, linking or wrapping the jar.
+     * Falls back to a full build if the executable doesn't match the configuration or its layout
+     * doesn't allow patching.
+     *
+     * @return Output file path.
+     */
+    public File patch() throws BuilderException {
+        final Config c = ConfigPersister.getInstance().getConfig();
+        try {
+            c.validate();
+        } catch (InvariantViolationException e) {
+            throw new BuilderException(e.getMessage());
+        }
+        if (c.isVariants()) {
+            _log.append(Messages.getString("Builder.patch.fallback", Messages.getString("Builder.patch.variants")));
+            return build();
+        }
+
+        File outfile = null;
+        try {
+            outfile = ConfigPersister.getInstance().getOutputFile();
+            ResourcePatcher patcher = new ResourcePatcher(outfile, getDigestAlgorithm(c));
+            String obstacle = getPatchObstacle(c, outfile, patcher);
+
+            if (obstacle != null) {
+                _log.append(Messages.getString("Builder.patch.fallback", obstacle));
+                return build();
+            }
+
+            _log.append(Messages.getString("Builder.patching"));
+
+            ResourceBuilder resources = new ResourceBuilder();
+
+            if (c.isOptimizeImages()) {
+                optimizeImages(c, resources);
+            }
+
+            long start = phaseStarted(BuildListener.PHASE_PATCH);
+
+            if (!patcher.patch(resources.buildResources(c))) {
+                _log.append(Messages.getString("Builder.patch.fallback",
+                        Messages.getString("Builder.patch.layout")));
+                return build();
+            }
+
+            phaseFinished(BuildListener.PHASE_PATCH, start);
+            _result = new BuildResult(outfile, sign(c, outfile, patcher.getDigester()));
+            fileWritten(_result);
+            analyzeSize(c, outfile);
+            writeLinkRecord(c, outfile);
+            _log.append(Messages.getString("Builder.success") + outfile.getPath());
+            return outfile;
+        } catch (IOException e) {
+            Util.delete(outfile);
+            _log.append(e.getMessage());
+            throw new BuilderException(e);
+        }
+    }
+
+    /**
+     * Wraps the staged jar again into the existing output file, without compiling the resources or linking. Falls
+     * back to a full build if the executable doesn't match the configuration.
+     *
+     * @return Output file path.
+     */
+    public File rewrap() throws BuilderException {
+        final Config c = ConfigPersister.getInstance().getConfig();
+        try {
+            c.validate();
+        } catch (InvariantViolationException e) {
+            throw new BuilderException(e.getMessage());
+        }
+        if (c.isVariants()) {
+            _log.append(Messages.getString("Builder.rewrap.fallback", Messages.getString("Builder.patch.variants")));
+            return build();
+        }
+
+        List<File> temps = new ArrayList<File>();
+        File outfile = null;
+        try {
+            outfile = ConfigPersister.getInstance().getOutputFile();
+            ResourcePatcher patcher = new ResourcePatcher(outfile, getDigestAlgorithm(c));
+            String obstacle = getRewrapObstacle(c, outfile, patcher);
+
+            if (obstacle != null) {
+                _log.append(Messages.getString("Builder.rewrap.fallback", obstacle));
+                return build();
+            }
+
+            File jar = stageJar(c, new RcBuilder(), temps);
+            patcher.unwrap();
+            _result = finish(c, jar, outfile);
+            return outfile;
+        } catch (IOException e) {
+            Util.delete(outfile);
+            _log.append(e.getMessage());
             throw new BuilderException(e);
         } finally {
-            Util.close(is);
-            Util.close(os);
-            Util.delete(rc);
-            Util.delete(ro);
+            deleteAll(temps);
+        }
+    }
+
+    /**
+     * The resources of a merged classpath depend on the jars found, so they are compiled again.
+     *
+     * @return Reason why the jar cannot be wrapped again or null.
+     */
+    private String getRewrapObstacle(Config c, File outfile, ResourcePatcher patcher) throws IOException {
+        if (!outfile.isFile()) {
+            return Messages.getString("Builder.patch.no.output");
+        }
+
+        if (c.isMergeClassPath()) {
+            return Messages.getString("Builder.patch.merge");
+        }
+
+        int subsystem = c.isGuiApplication() ? PeImage.SUBSYSTEM_WINDOWS_GUI : PeImage.SUBSYSTEM_WINDOWS_CUI;
+
+        if (patcher.readHeaders().getSubsystem() != subsystem) {
+            return Messages.getString("Builder.patch.subsystem");
+        }
+
+        if (c.isDontWrapJar() || !patcher.isWrapped()) {
+            return Messages.getString("Builder.patch.wrap");
+        }
+
+        LinkRecord record = LinkRecord.read(outfile);
+
+        if (record == null) {
+            return Messages.getString("Builder.patch.unrecorded");
+        }
+
+        if (!record.isSameHeader(new LinkRecord(c, _basedir))) {
+            return Messages.getString("Builder.patch.header");
+        }
+
+        return null;
+    }
+
+    /**
+     * @return Reason why the output file cannot be patched or null.
+     */
+    private String getPatchObstacle(Config c, File outfile, ResourcePatcher patcher) throws IOException {
+        if (!outfile.isFile()) {
+            return Messages.getString("Builder.patch.no.output");
+        }
+
+        if (c.isMergeClassPath()) {
+            return Messages.getString("Builder.patch.merge");
+        }
+
+        int subsystem = c.isGuiApplication() ? PeImage.SUBSYSTEM_WINDOWS_GUI : PeImage.SUBSYSTEM_WINDOWS_CUI;
+
+        if (patcher.readHeaders().getSubsystem() != subsystem) {
+            return Messages.getString("Builder.patch.subsystem");
+        }
+
+        if (patcher.isWrapped() == c.isDontWrapJar()) {
+            return Messages.getString("Builder.patch.wrap");
+        }
+
+        if (!c.isDontWrapJar() && Util.getAbsoluteFile(ConfigPersister.getInstance().getConfigPath(), c.getJar())
+                .lastModified() > outfile.lastModified()) {
+            return Messages.getString("Builder.patch.jar");
         }
+
+        // The header objects and the wrapped jar are kept, so they must be the ones the executable was built from
+        LinkRecord record = LinkRecord.read(outfile);
+
+        if (record == null) {
+            return Messages.getString("Builder.patch.unrecorded");
+        }
+
+        LinkRecord current = new LinkRecord(c, _basedir);
+
+        if (!record.isSameHeader(current)) {
+            return Messages.getString("Builder.patch.header");
+        }
+
+        if (!record.isSameJar(current)) {
+            return Messages.getString("Builder.patch.jar.changed");
+        }
+
+        return null;
+    }
+
+    private void optimizeImages(Config c, RcBuilder rcb) throws IOException {
+        _log.append(Messages.getString("Builder.optimizing.images"));
+        long start = phaseStarted(BuildListener.PHASE_IMAGES);
+        ImageOptimizer optimizer = new ImageOptimizer(_log);
+        File basedir = ConfigPersister.getInstance().getConfigPath();
+
+        if (c.getIcon() != null && !c.getIcon().getPath().equals("")) {
+            rcb.setIcon(optimizer.optimizeIcon(Util.getAbsoluteFile(basedir, c.getIcon())));
+        }
+
+        if (c.getSplash() != null) {
+            rcb.setSplashBitmap(optimizer.optimizeSplash(Util.getAbsoluteFile(basedir, c.getSplash().getFile()),
+                    c.getSplash().isRle()));
+        }
+
+        _log.append(Messages.getString("Builder.optimized.images", String.valueOf(optimizer.getSaved())));
+        phaseFinished(BuildListener.PHASE_IMAGES, start);
+    }
+
+    /**
+     * Signing appends the certificate table and changes the zip comment, so the signed executable is digested again.
+     *
+     * @return Digester of the final output.
+     */
+    private PeDigester sign(Config c, File outfile, PeDigester digester) throws IOException {
+        if (c.getSigning() == null) {
+            return digester;
+        }
+
+        _log.append(Messages.getString("Builder.signing"));
+        long start = phaseStarted(BuildListener.PHASE_SIGN);
+        ExeSigner signer = c.getSigning().getKeystore() != null
+                ? new JsignSigner(c.getSigning(), ConfigPersister.getInstance().getConfigPath())
+                : new CommandSigner(_log, c.getSigning());
+        new Sign4j(_log).sign(outfile, signer);
+        PeDigester signed = PeDigester.digest(outfile, digester.getAlgorithm());
+        signed.writeChecksum(outfile);
+        phaseFinished(BuildListener.PHASE_SIGN, start);
+        return signed;
+    }
+
+    /**
+     * Writes the size reports and checks the budgets, an executable over budget is deleted.
+     */
+    private void analyzeSize(Config c, File outfile) throws IOException, BuilderException {
+        SizeReport report = c.getSizeReport();
+
+        if (report == null) {
+            return;
+        }
+
+        long start = phaseStarted(BuildListener.PHASE_SIZE);
+        SizeAnalyzer analyzer = new SizeAnalyzer(outfile).analyze();
+        File basedir = ConfigPersister.getInstance().getConfigPath();
+        _log.append(Messages.getString("Builder.size", String.valueOf(analyzer.getSize()),
+                String.valueOf(analyzer.getResourcesSize()), String.valueOf(analyzer.getJarSize())));
+
+        if (report.getJson() != null) {
+            File json = Util.getAbsoluteFile(basedir, report.getJson());
+            analyzer.writeJson(json);
+            _log.append(Messages.getString("Builder.size.report", json.getPath()));
+        }
+
+        if (report.getHtml() != null) {
+            File html = Util.getAbsoluteFile(basedir, report.getHtml());
+            analyzer.writeHtml(html);
+            _log.append(Messages.getString("Builder.size.report", html.getPath()));
+        }
+
+        StringBuffer exceeded = new StringBuffer();
+        checkBudget(exceeded, "Builder.budget.size", analyzer.getSize(), report.getMaxSize());
+        checkBudget(exceeded, "Builder.budget.resources", analyzer.getResourcesSize(), report.getMaxResourcesSize());
+        checkBudget(exceeded, "Builder.budget.jar", analyzer.getJarSize(), report.getMaxJarSize());
+        phaseFinished(BuildListener.PHASE_SIZE, start);
+
+        if (exceeded.length() > 0) {
+            Util.delete(outfile);
+            _log.append(exceeded.toString());
+            throw new BuilderException(exceeded.toString());
+        }
+    }
+
+    private void checkBudget(StringBuffer exceeded, String key, long size, Integer budget) {
+        if (budget != null && size > budget.longValue() * 1024) {
+            if (exceeded.length() > 0) {
+                exceeded.append('\n');
+            }
+
+            exceeded.append(Messages.getString("Builder.budget.exceeded", Messages.getString(key),
+                    String.valueOf(size), String.valueOf(budget)));
+        }
+    }
+
+    private void exec(Cmd cmd, String command) throws IOException, ExecException {
+        long start = System.currentTimeMillis();
+        try {
+            cmd.exec(_log, _processes);
+        } catch (ExecException e) {
+            // A killed process fails, report the cancellation instead
+            checkCancelled();
+            throw e;
+        }
+        processFinished(command, start);
+    }
+
+    private void checkCancelled() throws InterruptedIOException {
+        if (_cancelled) {
+            throw new InterruptedIOException(Messages.getString("Builder.cancelled"));
+        }
+    }
+
+    private long phaseStarted(String phase) throws InterruptedIOException {
+        checkCancelled();
+
+        if (_listener != null) {
+            _listener.phaseStarted(phase);
+        }
+
+        return System.currentTimeMillis();
+    }
+
+    private void phaseFinished(String phase, long start) {
+        if (_listener != null) {
+            _listener.phaseFinished(phase, System.currentTimeMillis() - start);
+        }
+    }
+
+    private void processFinished(String command, long start) {
+        if (_listener != null) {
+            _listener.processFinished(command, System.currentTimeMillis() - start);
+        }
+    }
+
+    private void fileWritten(BuildResult result) {
+        if (_listener != null) {
+            _listener.fileWritten(result.getOutfile(), result.getSize());
+        }
+    }
+
+    private String getDigestAlgorithm(Config c) {
+        return c.getSigning() != null && c.getSigning().getAlg() != null
+                ? c.getSigning().getAlg()
+                : PeDigester.DEFAULT_ALGORITHM;
     }
 }
 
@@ -198,7 +829,11 @@ class Cmd {
     }
 
     public void exec(Log log) throws ExecException {
+        exec(log, null);
+    }
+
+    public void exec(Log log, Collection<Process> running) throws ExecException {
         String[] cmd = (String[]) _cmd.toArray(new String[_cmd.size()]);
-        Util.exec(cmd, log);
+        Util.exec(cmd, log, running);
     }
 }
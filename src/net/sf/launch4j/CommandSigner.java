@@ -0,0 +1,151 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.launch4j.config.Signing;
+
+/**
+ * Signs the executable with an external signing tool. Tools that cannot sign in place write the signed executable to a
+ * temporary file, of which only the headers and the appended signature are copied back.
+ */
+public class CommandSigner implements ExeSigner {
+    private final Log _log;
+    private final String _tool;
+    private final List<String> _args;
+
+    public CommandSigner(Log log, Signing signing) {
+        _log = log;
+        _tool = signing.getTool();
+        _args = signing.getArgs();
+    }
+
+    public void sign(File exe) throws IOException {
+        File signed = null;
+
+        try {
+            List<String> cmd = new ArrayList<String>();
+            cmd.add(_tool);
+
+            for (String arg : _args) {
+                if (arg.equals(Signing.EXEFILE)) {
+                    cmd.add(exe.getPath());
+                } else if (arg.equals(Signing.SIGNEDFILE)) {
+                    if (signed == null) {
+                        signed = Util.createTempFile("exe");
+                        signed.delete();
+                    }
+
+                    cmd.add(signed.getPath());
+                } else {
+                    cmd.add(arg);
+                }
+            }
+
+            exec(cmd);
+
+            if (signed != null) {
+                copyBack(signed, exe);
+            }
+        } finally {
+            Util.delete(signed);
+        }
+    }
+
+    private void exec(List<String> cmd) throws IOException {
+        Process p = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        BufferedReader is = new BufferedReader(new InputStreamReader(p.getInputStream()));
+
+        try {
+            String line;
+
+            while ((line = is.readLine()) != null) {
+                _log.append(line);
+            }
+
+            if (p.waitFor() != 0) {
+                throw new IOException(Messages.getString("CommandSigner.failed", String.valueOf(p.exitValue()),
+                        cmd.toString()));
+            }
+        } catch (InterruptedException e) {
+            p.destroy();
+            throw new IOException(e);
+        } finally {
+            Util.close(is);
+        }
+    }
+
+    /**
+     * Signing changes only the checksum and the certificate table entry in the headers and appends the signature.
+     */
+    private void copyBack(File signed, File exe) throws IOException {
+        RandomAccessFile in = null;
+        RandomAccessFile out = null;
+
+        try {
+            in = new RandomAccessFile(signed, "r");
+            out = new RandomAccessFile(exe, "rw");
+            FileChannel src = in.getChannel();
+            FileChannel dst = out.getChannel();
+            long len = dst.size();
+
+            if (src.size() <= len) {
+                throw new IOException(Messages.getString("CommandSigner.not.signed"));
+            }
+
+            transfer(src, dst, 0, Sign4j.getSizeOfHeaders(src));
+            transfer(src, dst, len, src.size() - len);
+        } finally {
+            Util.close(in);
+            Util.close(out);
+        }
+    }
+
+    private void transfer(FileChannel src, FileChannel dst, long position, long count) throws IOException {
+        for (long n = 0; n < count;) {
+            n += src.transferTo(position + n, count - n, dst.position(position + n));
+        }
+    }
+}
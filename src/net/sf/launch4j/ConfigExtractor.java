@@ -0,0 +1,469 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.launch4j.config.ClassPath;
+import net.sf.launch4j.config.Config;
+import net.sf.launch4j.config.Jre;
+import net.sf.launch4j.config.LanguageID;
+import net.sf.launch4j.config.Msg;
+import net.sf.launch4j.config.SingleInstance;
+import net.sf.launch4j.config.Splash;
+import net.sf.launch4j.config.VersionInfo;
+import net.sf.launch4j.pe.PeImage;
+import net.sf.launch4j.pe.PeResource;
+import net.sf.launch4j.pe.PeVersionInfo;
+
+/**
+ * Reconstructs the configuration of an executable from the resources written by RcBuilder. The icon, splash screen,
+ * manifest and wrapped jar are extracted next to the configuration.
+ */
+public class ConfigExtractor {
+
+    private final String _encoding;
+    private PeImage _pe;
+
+    public ConfigExtractor() {
+        _encoding = "MS932".equals(System.getProperty("file.encoding")) ? "MS932" : "ISO-8859-1";
+    }
+
+    /**
+     * @param dir directory the icon, splash screen, manifest and jar are extracted to, the configuration paths are
+     *        relative to it.
+     */
+    public Config extract(File exe, File dir) throws IOException {
+        _pe = new PeImage(exe);
+
+        if (getResource(PeResource.RT_RCDATA, RcBuilder.PRIORITY_CLASS) == null) {
+            throw new IOException(Messages.getString("ConfigExtractor.not.launch4j"));
+        }
+
+        String name = exe.getName();
+        String base = name.toLowerCase().endsWith(".exe") ? name.substring(0, name.length() - 4) : name;
+        Config c = new Config();
+        c.setOutfile(new File(name));
+        c.setHeaderType(_pe.getSubsystem() == PeImage.SUBSYSTEM_WINDOWS_CUI ? Config.CONSOLE_HEADER : Config.GUI_HEADER);
+        c.setErrTitle(getText(RcBuilder.ERR_TITLE));
+        c.setDownloadUrl(getText(RcBuilder.DOWNLOAD_URL));
+        c.setSupportUrl(getText(RcBuilder.SUPPORT_URL));
+        c.setCmdLine(getText(RcBuilder.CMD_LINE));
+        c.setChdir(getText(RcBuilder.CHDIR));
+        c.setStayAlive(getTrue(RcBuilder.GUI_HEADER_STAYS_ALIVE));
+        c.setRestartOnCrash(getTrue(RcBuilder.RESTART_ON_CRASH));
+        c.setIniFile(getText(RcBuilder.INI_FILE));
+        c.setPriority(getPriority(getText(RcBuilder.PRIORITY_CLASS)));
+
+        String variables = getText(RcBuilder.ENV_VARIABLES);
+
+        if (variables != null) {
+            c.setVariables(new ArrayList<String>(Arrays.asList(variables.split("\t"))));
+        }
+
+        c.setJre(extractJre());
+        c.setVersionInfo(extractVersionInfo());
+        c.setMessages(extractMessages());
+
+        String mutexName = getText(RcBuilder.MUTEX_NAME);
+
+        if (mutexName != null) {
+            SingleInstance si = new SingleInstance();
+            si.setMutexName(mutexName);
+            si.setWindowTitle(getText(RcBuilder.INSTANCE_WINDOW_TITLE));
+            c.setSingleInstance(si);
+        }
+
+        String mainClass = getText(RcBuilder.MAIN_CLASS);
+
+        if (mainClass != null) {
+            ClassPath cp = new ClassPath();
+            cp.setMainClass(mainClass);
+            String paths = getText(RcBuilder.CLASSPATH);
+
+            if (paths != null) {
+                cp.setPaths(new ArrayList<String>(Arrays.asList(paths.split(";"))));
+            }
+
+            c.setClassPath(cp);
+        }
+
+        if (getTrue(RcBuilder.WRAPPER)) {
+            File jar = new File(dir, base + ".jar");
+            extractJar(jar);
+            c.setJar(new File(jar.getName()));
+        } else {
+            c.setDontWrapJar(true);
+            String jar = getText(RcBuilder.JAR);
+            c.setJar(jar != null ? new File(jar) : null);
+        }
+
+        if (getTrue(RcBuilder.SHOW_SPLASH)) {
+            Splash splash = new Splash();
+            splash.setWaitForWindow(getTrue(RcBuilder.SPLASH_WAITS_FOR_WINDOW));
+            splash.setTimeoutErr(getTrue(RcBuilder.SPLASH_TIMEOUT_ERR));
+            String timeout = getText(RcBuilder.SPLASH_TIMEOUT);
+
+            if (timeout != null) {
+                splash.setTimeout(Integer.parseInt(timeout));
+            }
+
+            PeResource bitmap = getResource(PeResource.RT_BITMAP, RcBuilder.SPLASH_BITMAP);
+
+            if (bitmap != null) {
+                File f = new File(dir, base + "-splash.bmp");
+                write(f, createBitmapFile(bitmap));
+                splash.setFile(new File(f.getName()));
+            }
+
+            c.setSplash(splash);
+        }
+
+        PeResource manifest = getResource(PeResource.RT_MANIFEST, RcBuilder.MANIFEST);
+
+        if (manifest != null) {
+            File f = new File(dir, base + ".manifest");
+            write(f, manifest.getData());
+            c.setManifest(new File(f.getName()));
+        }
+
+        PeResource icon = getResource(PeResource.RT_GROUP_ICON, RcBuilder.APP_ICON);
+
+        if (icon != null) {
+            File f = new File(dir, base + ".ico");
+            write(f, createIconFile(icon));
+            c.setIcon(new File(f.getName()));
+        }
+
+        return c;
+    }
+
+    private Jre extractJre() throws IOException {
+        Jre jre = new Jre();
+        String path = getText(RcBuilder.JRE_PATH);
+        jre.setPath(path != null ? path : Jre.DEFAULT_PATH);
+        jre.setRequiresJdk(getTrue(RcBuilder.REQUIRES_JDK));
+        jre.setRequires64Bit(getTrue(RcBuilder.REQUIRES_64_BIT));
+        jre.setMinVersion(getText(RcBuilder.JAVA_MIN_VER));
+        jre.setMaxVersion(getText(RcBuilder.JAVA_MAX_VER));
+        jre.setInitialHeapSize(getInteger(RcBuilder.INITIAL_HEAP_SIZE));
+        jre.setInitialHeapPercent(getInteger(RcBuilder.INITIAL_HEAP_PERCENT));
+        jre.setMaxHeapSize(getInteger(RcBuilder.MAX_HEAP_SIZE));
+        jre.setMaxHeapPercent(getInteger(RcBuilder.MAX_HEAP_PERCENT));
+        String options = getText(RcBuilder.JVM_OPTIONS);
+
+        if (options != null) {
+            jre.setOptions(splitOptions(options));
+        }
+
+        return jre;
+    }
+
+    /**
+     * Splits the options at spaces outside of double quotes.
+     */
+    private List<String> splitOptions(String options) {
+        List<String> list = new ArrayList<String>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < options.length(); i++) {
+            char c = options.charAt(i);
+
+            if (c == '"') {
+                quoted = !quoted;
+            }
+
+            if (c == ' ' && !quoted) {
+                if (sb.length() > 0) {
+                    list.add(sb.toString());
+                    sb.setLength(0);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+
+        if (sb.length() > 0) {
+            list.add(sb.toString());
+        }
+
+        return list.isEmpty() ? null : list;
+    }
+
+    private VersionInfo extractVersionInfo() throws IOException {
+        PeResource resource = getResource(PeResource.RT_VERSION, 1);
+
+        if (resource == null) {
+            return null;
+        }
+
+        PeVersionInfo info = new PeVersionInfo(resource);
+        VersionInfo v = new VersionInfo();
+        v.setFileVersion(info.getFileVersion());
+        v.setProductVersion(info.getProductVersion());
+        v.setCompanyName(info.getString("CompanyName"));
+        v.setFileDescription(info.getString("FileDescription"));
+        v.setTxtFileVersion(info.getString("FileVersion"));
+        v.setInternalName(info.getString("InternalName"));
+        v.setCopyright(info.getString("LegalCopyright"));
+        v.setTrademarks(info.getString("LegalTrademarks"));
+        v.setOriginalFilename(info.getString("OriginalFilename"));
+        v.setProductName(info.getString("ProductName"));
+        v.setTxtProductVersion(info.getString("ProductVersion"));
+
+        for (LanguageID language : LanguageID.values()) {
+            if (language.getId() == info.getLanguage()) {
+                v.setLanguage(language);
+            }
+        }
+
+        return v;
+    }
+
+    /**
+     * @return Messages that differ from the defaults or null.
+     */
+    private Msg extractMessages() throws IOException {
+        Msg defaults = new Msg();
+        Msg msg = new Msg();
+        boolean custom = false;
+        String s;
+
+        if ((s = getText(RcBuilder.STARTUP_ERR)) != null && !s.equals(defaults.getStartupErr())) {
+            msg.setStartupErr(s);
+            custom = true;
+        }
+
+        if ((s = getText(RcBuilder.JRE_NOT_FOUND_ERR)) != null && !s.equals(defaults.getJreNotFoundErr())) {
+            msg.setJreNotFoundErr(s);
+            custom = true;
+        }
+
+        if ((s = getText(RcBuilder.JRE_VERSION_ERR)) != null && !s.equals(defaults.getJreVersionErr())) {
+            msg.setJreVersionErr(s);
+            custom = true;
+        }
+
+        if ((s = getText(RcBuilder.LAUNCHER_ERR)) != null && !s.equals(defaults.getLauncherErr())) {
+            msg.setLauncherErr(s);
+            custom = true;
+        }
+
+        if ((s = getText(RcBuilder.INSTANCE_ALREADY_EXISTS_MSG)) != null
+                && !s.equals(defaults.getInstanceAlreadyExistsMsg())) {
+            msg.setInstanceAlreadyExistsMsg(s);
+            custom = true;
+        }
+
+        return custom ? msg : null;
+    }
+
+    private String getPriority(String priorityClass) {
+        Config c = new Config();
+
+        for (int i = 0; i < 3; i++) {
+            c.setPriorityIndex(i);
+
+            if (String.valueOf(c.getPriorityClass()).equals(priorityClass)) {
+                return c.getPriority();
+            }
+        }
+
+        return null;
+    }
+
+    private PeResource getResource(int type, int id) throws IOException {
+        return _pe.getResource(type, id);
+    }
+
+    /**
+     * @return RCDATA text up to the terminating null or null if the resource is missing.
+     */
+    private String getText(int id) throws IOException {
+        PeResource r = getResource(PeResource.RT_RCDATA, id);
+
+        if (r == null) {
+            return null;
+        }
+
+        byte[] bytes = r.getBytes();
+        int len = 0;
+
+        while (len < bytes.length && bytes[len] != 0) {
+            len++;
+        }
+
+        try {
+            return new String(bytes, 0, len, _encoding).replace("\r\n", "\n");
+        } catch (UnsupportedEncodingException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private boolean getTrue(int id) throws IOException {
+        return "true".equals(getText(id));
+    }
+
+    private Integer getInteger(int id) throws IOException {
+        String s = getText(id);
+        return s != null ? Integer.valueOf(s) : null;
+    }
+
+    /**
+     * Bitmap resources lack the file header.
+     */
+    private ByteBuffer createBitmapFile(PeResource bitmap) {
+        ByteBuffer dib = bitmap.getData();
+        int headerSize = dib.getInt(0);
+        int bitCount = dib.getShort(14) & 0xFFFF;
+        int compression = dib.getInt(16);
+        int colors = headerSize >= 40 ? dib.getInt(32) : 0;
+
+        if (colors == 0 && bitCount <= 8) {
+            colors = 1 << bitCount;
+        }
+
+        int masks = headerSize == 40 && compression == 3 ? 12 : 0; // BI_BITFIELDS
+        ByteBuffer b = ByteBuffer.allocate(14 + bitmap.getSize()).order(ByteOrder.LITTLE_ENDIAN);
+        b.put((byte) 'B').put((byte) 'M');
+        b.putInt(14 + bitmap.getSize());
+        b.putInt(0);
+        b.putInt(14 + headerSize + masks + colors * 4);
+        b.put(dib);
+        b.flip();
+        return b;
+    }
+
+    /**
+     * Rebuilds the icon file from the icon group and the icon images it refers to.
+     */
+    private ByteBuffer createIconFile(PeResource group) throws IOException {
+        ByteBuffer g = group.getData();
+        int count = g.getShort(4) & 0xFFFF;
+        List<PeResource> images = new ArrayList<PeResource>();
+        int size = 6 + count * 16;
+
+        for (int i = 0; i < count; i++) {
+            PeResource image = getResource(PeResource.RT_ICON, g.getShort(6 + i * 14 + 12) & 0xFFFF);
+
+            if (image == null) {
+                throw new IOException(Messages.getString("ConfigExtractor.icon"));
+            }
+
+            images.add(image);
+            size += image.getSize();
+        }
+
+        ByteBuffer b = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        b.putShort((short) 0).putShort((short) 1).putShort((short) count);
+        int offset = 6 + count * 16;
+
+        for (int i = 0; i < count; i++) {
+            int entry = 6 + i * 14;
+
+            for (int j = 0; j < 8; j++) {
+                b.put(g.get(entry + j));
+            }
+
+            b.putInt(images.get(i).getSize());
+            b.putInt(offset);
+            offset += images.get(i).getSize();
+        }
+
+        for (PeResource image : images) {
+            b.put(image.getData());
+        }
+
+        b.flip();
+        return b;
+    }
+
+    /**
+     * Writes the overlay up to the zip end header without the comment, which holds the signature of signed
+     * executables, and rewrites the zip offsets.
+     */
+    private void extractJar(File jar) throws IOException {
+        ZipEndHeader header = _pe.getOverlayJar();
+
+        if (header == null) {
+            throw new IOException(Messages.getString("ConfigExtractor.invalid.jar"));
+        }
+
+        ByteBuffer b = _pe.getImage();
+        b.position((int) _pe.getOverlayOffset());
+        b.limit((int) header.getPosition() + ZipEndHeader.SIZE);
+        ByteBuffer data = b.slice().order(ByteOrder.LITTLE_ENDIAN);
+        write(jar, data);
+
+        RandomAccessFile raf = new RandomAccessFile(jar, "rw");
+
+        try {
+            FileChannel ch = raf.getChannel();
+            ByteBuffer comment = ByteBuffer.allocate(2);
+            ch.write(comment, ch.size() - 2);
+        } finally {
+            Util.close(raf);
+        }
+
+        new JarWrapper().relocate(jar);
+    }
+
+    private void write(File f, ByteBuffer data) throws IOException {
+        FileOutputStream os = new FileOutputStream(f);
+
+        try {
+            FileChannel ch = os.getChannel();
+
+            while (data.hasRemaining()) {
+                ch.write(data);
+            }
+        } finally {
+            Util.close(os);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.launch4j.config.Config;
+import net.sf.launch4j.config.ConfigPersister;
+import net.sf.launch4j.config.ConfigPersisterException;
+
+/**
+ * Rebuilds the executable whenever the configuration or one of its input files changes, in the same JVM so the
+ * classes and caches stay warm. Bursts of changes are collected until the files are quiet, then only what changed
+ * is rebuilt: the resources are patched for an icon, manifest or splash change, the jar is wrapped again for a jar
+ * change and a configuration change gets a full build.
+ */
+public class ConfigWatcher {
+    private static final long DEBOUNCE_MILLIS = 300;
+    private static final int CHANGE_RESOURCES = 1;
+    private static final int CHANGE_JAR = 2;
+    private static final int CHANGE_CONFIG = 4;
+
+    private final Log _log;
+    private final File _configFile;
+    private final Builder _builder;
+    private final Map<Path, Integer> _files = new HashMap<Path, Integer>();
+    private final Set<Path> _dirs = new HashSet<Path>();
+    private boolean _loaded;
+
+    public ConfigWatcher(Log log, File configFile) {
+        _log = log;
+        _configFile = configFile.getAbsoluteFile();
+        _builder = new Builder(log);
+    }
+
+    /**
+     * Builds the configuration, then watches it until the thread is interrupted. Failed builds are logged and the
+     * next change is waited for.
+     */
+    public void watch() throws IOException, InterruptedException {
+        WatchService watcher = FileSystems.getDefault().newWatchService();
+
+        try {
+            int changes = CHANGE_CONFIG;
+
+            while (true) {
+                rebuild(changes);
+                register(watcher);
+                _log.append(Messages.getString("ConfigWatcher.watching", String.valueOf(_files.size())));
+                changes = waitForChanges(watcher);
+            }
+        } finally {
+            watcher.close();
+        }
+    }
+
+    private void rebuild(int changes) {
+        long start = System.currentTimeMillis();
+        String kind;
+
+        try {
+            if ((changes & CHANGE_CONFIG) != 0 || !_loaded) {
+                _loaded = false;
+                kind = Messages.getString("ConfigWatcher.full");
+                ConfigPersister.getInstance().load(_configFile);
+                _loaded = true;
+                _builder.build();
+            } else if (changes == (CHANGE_RESOURCES | CHANGE_JAR)) {
+                kind = Messages.getString("ConfigWatcher.full");
+                _builder.build();
+            } else if (changes == CHANGE_RESOURCES) {
+                kind = Messages.getString("ConfigWatcher.resources");
+                _builder.patch();
+            } else {
+                kind = Messages.getString("ConfigWatcher.jar");
+                _builder.rewrap();
+            }
+
+            _log.append(Messages.getString("ConfigWatcher.rebuilt", kind,
+                    String.valueOf(System.currentTimeMillis() - start)));
+        } catch (ConfigPersisterException e) {
+            _log.append(e.getMessage());
+        } catch (BuilderException e) {
+            _log.append(Messages.getString("ConfigWatcher.failed",
+                    String.valueOf(System.currentTimeMillis() - start)));
+        }
+    }
+
+    /**
+     * Watches the directories of the configuration, its parents and includes, and of the files it uses, the
+     * configuration may have changed since the last build. A configuration that fails to load leaves only itself watched.
+     */
+    private void register(WatchService watcher) throws IOException {
+        _files.clear();
+        put(_configFile, CHANGE_CONFIG);
+
+        if (_loaded) {
+            for (File source : ConfigPersister.getInstance().getConfigSources()) {
+                put(source, CHANGE_CONFIG);
+            }
+
+            Config c = ConfigPersister.getInstance().getConfig();
+            File basedir = ConfigPersister.getInstance().getConfigPath();
+
+            if (!c.isDontWrapJar()) {
+                put(Util.getAbsoluteFile(basedir, c.getJar()), CHANGE_JAR);
+            }
+
+            if (c.isMergeClassPath() && c.getClassPath().getPaths() != null) {
+                File outdir = ConfigPersister.getInstance().getOutputPath(c);
+
+                for (String path : c.getClassPath().getPaths()) {
+                    put(Util.getAbsoluteFile(outdir, new File(path)), CHANGE_JAR);
+                }
+            }
+
+            put(basedir, c.getIcon(), CHANGE_RESOURCES);
+            put(basedir, c.getManifest(), CHANGE_RESOURCES);
+
+            if (c.getSplash() != null) {
+                put(basedir, c.getSplash().getFile(), CHANGE_RESOURCES);
+            }
+        }
+
+        for (Path file : _files.keySet()) {
+            Path dir = file.getParent();
+
+            if (dir != null && !_dirs.contains(dir) && dir.toFile().isDirectory()) {
+                dir.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                _dirs.add(dir);
+            }
+        }
+    }
+
+    private void put(File basedir, File f, int change) {
+        if (f != null && !f.getPath().equals("")) {
+            put(Util.getAbsoluteFile(basedir, f), change);
+        }
+    }
+
+    private void put(File f, int change) {
+        Path path = f.getAbsoluteFile().toPath().normalize();
+        Integer previous = _files.get(path);
+        _files.put(path, previous != null ? previous | change : change);
+    }
+
+    /**
+     * Blocks until a watched file changes, then collects further events until none arrives for the debounce time.
+     *
+     * @return The kinds of changes, combined.
+     */
+    private int waitForChanges(WatchService watcher) throws InterruptedException {
+        int changes = 0;
+        WatchKey key = watcher.take();
+
+        while (key != null) {
+            Path dir = (Path) key.watchable();
+
+            for (WatchEvent<?> e : key.pollEvents()) {
+                if (e.kind() == OVERFLOW) {
+                    changes |= CHANGE_CONFIG;
+                    continue;
+                }
+
+                Integer change = _files.get(dir.resolve((Path) e.context()));
+
+                if (change != null) {
+                    changes |= change;
+                }
+            }
+
+            if (!key.reset()) {
+                _dirs.remove(dir);
+            }
+
+            key = changes == 0 ? watcher.take() : watcher.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        return changes;
+    }
+}
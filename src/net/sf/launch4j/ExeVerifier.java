@@ -0,0 +1,126 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.sf.launch4j.pe.PeImage;
+import net.sf.launch4j.pe.PeResource;
+
+/**
+ * Verifies built executables: the PE headers and resources must be readable, the launch4j resources present and
+ * a wrapped jar must be a valid zip archive. Executables are verified in parallel.
+ */
+public class ExeVerifier {
+    private final Log _log;
+
+    public ExeVerifier(Log log) {
+        _log = log;
+    }
+
+    /**
+     * @return Number of executables that failed verification.
+     */
+    public int verify(List<File> files) {
+        int threads = Math.max(1, Math.min(files.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<String>> results = new ArrayList<Future<String>>();
+        int failed = 0;
+
+        try {
+            for (final File f : files) {
+                results.add(executor.submit(new Callable<String>() {
+                    public String call() throws IOException {
+                        return verify(f);
+                    }
+                }));
+            }
+
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    _log.append(files.get(i).getPath() + ": " + results.get(i).get());
+                } catch (ExecutionException e) {
+                    _log.append(files.get(i).getPath() + ": " + e.getCause().getMessage());
+                    failed++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return failed;
+    }
+
+    /**
+     * @return Summary of the executable.
+     * @throws IOException if the executable is invalid.
+     */
+    public String verify(File f) throws IOException {
+        PeImage pe = new PeImage(f);
+        List<PeResource> resources = pe.getResources();
+
+        if (pe.getResource(PeResource.RT_RCDATA, RcBuilder.PRIORITY_CLASS) == null) {
+            throw new IOException(Messages.getString("ExeVerifier.not.launch4j"));
+        }
+
+        boolean wrapped = pe.getResource(PeResource.RT_RCDATA, RcBuilder.WRAPPER) != null;
+        ZipEndHeader jar = pe.getOverlayJar();
+
+        if (wrapped && jar == null) {
+            throw new IOException(Messages.getString("ExeVerifier.invalid.jar"));
+        }
+
+        if (!wrapped && pe.getUnsignedOverlayLength() > 0) {
+            throw new IOException(Messages.getString("ExeVerifier.unexpected.overlay"));
+        }
+
+        return Messages.getString("ExeVerifier.ok", new Object[] { String.valueOf(pe.getSections().size()),
+                String.valueOf(resources.size()), String.valueOf(pe.getOverlayOffset()),
+                String.valueOf(pe.getOverlayLength()), jar != null ? String.valueOf(jar.getEntries()) : "0" });
+    }
+}
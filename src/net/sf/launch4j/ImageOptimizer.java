@@ -0,0 +1,487 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Shrinks the icon and the splash screen bitmap before they are embedded:
+ * <ul>
+ * <li>icon sizes present in several color depths are reduced to the deepest one,</li>
+ * <li>frames of 256 pixels, the size Windows loads from PNG, are re-encoded as PNG,</li>
+ * <li>the splash bitmap is stored in the lowest bit depth that holds all its colors, optionally RLE compressed.</li>
+ * </ul>
+ * Results are cached by the digest of the input, in launch4j.cachedir or ~/.launch4j/cache.
+ */
+public class ImageOptimizer {
+    private static final int PNG_MIN_SIZE = 256;
+    private static final int ICON_DIR_SIZE = 6;
+    private static final int ICON_DIR_ENTRY_SIZE = 16;
+    private static final int BI_RGB = 0;
+    private static final byte[] PNG_SIGNATURE = new byte[] { (byte) 0x89, 'P', 'N', 'G' };
+
+    private final Log _log;
+    private final File _cacheDir;
+    private long _saved;
+
+    public ImageOptimizer(Log log) {
+        _log = log;
+        _cacheDir = Util.getCacheDir("images");
+    }
+
+    /**
+     * @return Bytes saved by the files optimized so far.
+     */
+    public long getSaved() {
+        return _saved;
+    }
+
+    /**
+     * @return Optimized copy of the icon in the cache.
+     */
+    public File optimizeIcon(File icon) throws IOException {
+        return optimize(icon, "ico", false);
+    }
+
+    /**
+     * @return Optimized copy of the bitmap in the cache.
+     */
+    public File optimizeSplash(File bitmap, boolean rle) throws IOException {
+        return optimize(bitmap, rle ? "rle.bmp" : "bmp", rle);
+    }
+
+    private File optimize(File f, String suffix, boolean rle) throws IOException {
+        byte[] in = Files.readAllBytes(f.toPath());
+        File cached = new File(_cacheDir, digest(in, suffix) + "." + suffix);
+        boolean hit = cached.isFile();
+
+        if (!hit) {
+            byte[] out = suffix.equals("ico") ? optimizeIcon(in, f) : optimizeSplash(in, rle);
+            store(out.length < in.length ? out : in, cached);
+        }
+
+        long size = cached.length();
+        _saved += in.length - size;
+        _log.append(Messages.getString(hit ? "ImageOptimizer.cached" : "ImageOptimizer.optimized", f.getName(),
+                String.valueOf(in.length), String.valueOf(size)));
+        return cached;
+    }
+
+    private String digest(byte[] data, String suffix) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(data);
+            return Util.toHex(md.digest(suffix.getBytes("US-ASCII")));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes a temporary file and renames it, so that concurrent builds never see a partial entry.
+     */
+    private void store(byte[] data, File cached) throws IOException {
+        if (!_cacheDir.isDirectory() && !_cacheDir.mkdirs()) {
+            throw new IOException(Messages.getString("ImageOptimizer.cache.dir", _cacheDir.getPath()));
+        }
+
+        File tmp = File.createTempFile("image", ".tmp", _cacheDir);
+        FileOutputStream os = null;
+
+        try {
+            os = new FileOutputStream(tmp);
+            os.write(data);
+        } finally {
+            Util.close(os);
+        }
+
+        if (!tmp.renameTo(cached)) {
+            Util.delete(tmp);
+
+            if (!cached.isFile()) {
+                throw new IOException(Messages.getString("ImageOptimizer.cache.dir", _cacheDir.getPath()));
+            }
+        }
+    }
+
+    private byte[] optimizeIcon(byte[] ico, File f) throws IOException {
+        ByteBuffer b = ByteBuffer.wrap(ico).order(ByteOrder.LITTLE_ENDIAN);
+        Map<String, IconFrame> frames = new LinkedHashMap<String, IconFrame>();
+
+        try {
+            if (b.getShort(0) != 0 || b.getShort(2) != 1) {
+                throw new IOException(Messages.getString("ResourceBuilder.invalid.icon", f.getPath()));
+            }
+
+            int count = b.getShort(4) & 0xFFFF;
+
+            for (int i = 0; i < count; i++) {
+                IconFrame frame = new IconFrame(b, ICON_DIR_SIZE + i * ICON_DIR_ENTRY_SIZE);
+                String size = frame.width + "x" + frame.height;
+                IconFrame other = frames.get(size);
+
+                if (other == null || frame.bitCount > other.bitCount) {
+                    frames.put(size, frame);
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException(Messages.getString("ResourceBuilder.invalid.icon", f.getPath()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(Messages.getString("ResourceBuilder.invalid.icon", f.getPath()));
+        } catch (BufferUnderflowException e) {
+            throw new IOException(Messages.getString("ResourceBuilder.invalid.icon", f.getPath()));
+        }
+
+        for (IconFrame frame : frames.values()) {
+            if (!frame.isPng() && frame.width >= PNG_MIN_SIZE && frame.height >= PNG_MIN_SIZE) {
+                BufferedImage image = decodeDib(frame);
+
+                if (image != null) {
+                    ByteArrayOutputStream png = new ByteArrayOutputStream();
+                    ImageIO.write(image, "png", png);
+
+                    if (png.size() < frame.data.length) {
+                        frame.data = png.toByteArray();
+                    }
+                }
+            }
+        }
+
+        return writeIcon(new ArrayList<IconFrame>(frames.values()));
+    }
+
+    private byte[] writeIcon(List<IconFrame> frames) {
+        int size = ICON_DIR_SIZE + frames.size() * ICON_DIR_ENTRY_SIZE;
+
+        for (IconFrame frame : frames) {
+            size += frame.data.length;
+        }
+
+        ByteBuffer b = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        b.putShort((short) 0);
+        b.putShort((short) 1);
+        b.putShort((short) frames.size());
+        int offset = ICON_DIR_SIZE + frames.size() * ICON_DIR_ENTRY_SIZE;
+
+        for (IconFrame frame : frames) {
+            b.put((byte) frame.width);      // 256 is stored as 0
+            b.put((byte) frame.height);
+            b.put((byte) frame.colorCount);
+            b.put((byte) 0);
+            b.putShort((short) 1);
+            b.putShort((short) frame.bitCount);
+            b.putInt(frame.data.length);
+            b.putInt(offset);
+            offset += frame.data.length;
+        }
+
+        for (IconFrame frame : frames) {
+            b.put(frame.data);
+        }
+
+        return b.array();
+    }
+
+    /**
+     * Decodes an uncompressed icon DIB: color bitmap of double height, bottom-up, followed by the 1 bit AND mask.
+     *
+     * @return The image or null if the format isn't supported.
+     */
+    private BufferedImage decodeDib(IconFrame frame) {
+        ByteBuffer d = ByteBuffer.wrap(frame.data).order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            int headerSize = d.getInt(0);
+            int width = d.getInt(4);
+            int height = d.getInt(8) / 2;
+            int bitCount = d.getShort(14);
+            int colorsUsed = d.getInt(32);
+
+            if (d.getInt(16) != BI_RGB || width <= 0 || height <= 0) {
+                return null;
+            }
+
+            int colors = colorsUsed != 0 ? colorsUsed : bitCount <= 8 ? 1 << bitCount : 0;
+            int palette = headerSize;
+            int xor = palette + colors * 4;
+            int xorStride = (width * bitCount + 31) / 32 * 4;
+            int and = xor + xorStride * height;
+            int andStride = (width + 31) / 32 * 4;
+            boolean mask = and + andStride * height <= frame.data.length;
+            boolean alpha = false;
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+            for (int y = 0; y < height; y++) {
+                int row = xor + (height - 1 - y) * xorStride;
+
+                for (int x = 0; x < width; x++) {
+                    int argb;
+
+                    switch (bitCount) {
+                    case 32:
+                        argb = d.getInt(row + x * 4);
+                        alpha |= (argb >>> 24) != 0;
+                        break;
+                    case 24:
+                        int p = row + x * 3;
+                        argb = 0xFF000000 | (d.get(p + 2) & 0xFF) << 16 | (d.get(p + 1) & 0xFF) << 8 | d.get(p) & 0xFF;
+                        break;
+                    case 8:
+                    case 4:
+                    case 1:
+                        int bit = x * bitCount;
+                        int index = (d.get(row + bit / 8) & 0xFF) >> (8 - bitCount - bit % 8) & (1 << bitCount) - 1;
+                        argb = 0xFF000000 | d.getInt(palette + index * 4) & 0xFFFFFF;
+                        break;
+                    default:
+                        return null;
+                    }
+
+                    image.setRGB(x, y, argb);
+                }
+            }
+
+            // Without per pixel alpha the AND mask defines transparency
+            if (!alpha) {
+                for (int y = 0; y < height; y++) {
+                    int row = and + (height - 1 - y) * andStride;
+
+                    for (int x = 0; x < width; x++) {
+                        boolean transparent = mask && (d.get(row + x / 8) >> (7 - x % 8) & 1) != 0;
+                        int rgb = image.getRGB(x, y) & 0xFFFFFF;
+                        image.setRGB(x, y, transparent ? rgb : 0xFF000000 | rgb);
+                    }
+                }
+            }
+
+            return image;
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the bitmap in the lowest bit depth that holds all of its colors. The result is decoded and compared
+     * with the original, the original is kept if any pixel differs.
+     */
+    private byte[] optimizeSplash(byte[] bmp, boolean rle) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bmp));
+
+        if (image == null) {
+            return bmp;
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        Map<Integer, Integer> palette = new LinkedHashMap<Integer, Integer>();
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int argb = image.getRGB(x, y);
+
+                if ((argb >>> 24) != 0xFF) {
+                    return bmp;
+                }
+
+                if (palette.size() <= 256 && !palette.containsKey(argb)) {
+                    palette.put(argb, palette.size());
+                }
+            }
+        }
+
+        int bits = palette.size() <= 2 ? 1 : palette.size() <= 16 ? 4 : palette.size() <= 256 ? 8 : 24;
+        BufferedImage reduced;
+
+        if (bits == 24) {
+            reduced = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+            reduced.getGraphics().drawImage(image, 0, 0, null);
+        } else {
+            int n = 1 << bits;
+            byte[] r = new byte[n];
+            byte[] g = new byte[n];
+            byte[] b = new byte[n];
+
+            for (Map.Entry<Integer, Integer> e : palette.entrySet()) {
+                r[e.getValue()] = (byte) (e.getKey() >> 16);
+                g[e.getValue()] = (byte) (e.getKey() >> 8);
+                b[e.getValue()] = (byte) (int) e.getKey();
+            }
+
+            IndexColorModel cm = new IndexColorModel(bits, n, r, g, b);
+            reduced = new BufferedImage(width, height,
+                    bits == 8 ? BufferedImage.TYPE_BYTE_INDEXED : BufferedImage.TYPE_BYTE_BINARY, cm);
+            WritableRaster raster = reduced.getRaster();
+
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    raster.setSample(x, y, 0, palette.get(image.getRGB(x, y)));
+                }
+            }
+        }
+
+        byte[] best = bmp;
+        List<String> compressions = new ArrayList<String>();
+        compressions.add(null);
+
+        if (rle && bits == 8) {
+            compressions.add("BI_RLE8");
+        } else if (rle && bits == 4) {
+            compressions.add("BI_RLE4");
+        }
+
+        for (String compression : compressions) {
+            byte[] out = writeBmp(reduced, compression);
+
+            if (out != null && out.length < best.length && isSame(image, out)) {
+                best = out;
+            }
+        }
+
+        return best;
+    }
+
+    private byte[] writeBmp(BufferedImage image, String compression) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("bmp");
+
+        if (!writers.hasNext()) {
+            return null;
+        }
+
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ImageOutputStream ios = ImageIO.createImageOutputStream(os);
+
+        try {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+
+            if (compression != null) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionType(compression);
+            }
+
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+            ios.close();
+        }
+
+        return os.toByteArray();
+    }
+
+    private boolean isSame(BufferedImage image, byte[] bmp) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(bmp));
+
+        if (decoded == null || decoded.getWidth() != image.getWidth() || decoded.getHeight() != image.getHeight()) {
+            return false;
+        }
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (decoded.getRGB(x, y) != image.getRGB(x, y)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static class IconFrame {
+        final int width;
+        final int height;
+        final int colorCount;
+        final int bitCount;
+        byte[] data;
+
+        IconFrame(ByteBuffer ico, int entry) {
+            int w = ico.get(entry) & 0xFF;
+            int h = ico.get(entry + 1) & 0xFF;
+            width = w == 0 ? 256 : w;
+            height = h == 0 ? 256 : h;
+            colorCount = ico.get(entry + 2) & 0xFF;
+            int size = ico.getInt(entry + 8);
+            int offset = ico.getInt(entry + 12);
+            data = new byte[size];
+            ((ByteBuffer) ico.duplicate().position(offset)).get(data);
+            int bits = ico.getShort(entry + 6);
+
+            // Like windres, take the bit count from the image header when the directory leaves it empty
+            if (bits == 0 && !isPng() && data.length >= 16) {
+                bits = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).getShort(14);
+            }
+
+            bitCount = bits;
+        }
+
+        boolean isPng() {
+            for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+                if (i >= data.length || data[i] != PNG_SIGNATURE[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
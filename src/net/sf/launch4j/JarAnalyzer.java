@@ -0,0 +1,543 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Scans the class files of a jar without loading them. The constant pools are parsed in parallel to find the classes
+ * with a <code>public static void main(String[])</code> method, the module descriptor and the classes referenced by
+ * the jar, which tell the <code>Class-Path</code> entries that are actually used.
+ */
+public class JarAnalyzer {
+    private static final String CLASS = ".class";
+    private static final String MODULE_INFO = "module-info.class";
+    private static final String VERSIONS = "META-INF/versions/";
+    private static final String MAIN_DESCRIPTOR = "([Ljava/lang/String;)V";
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int CHUNK_SIZE = 256;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private final File _jar;
+    private boolean _manifest;
+    private String _manifestMainClass;
+    private final List<String> _classPath = new ArrayList<String>();
+    private final Set<String> _mainClasses = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final Set<String> _classes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final Set<String> _references = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final AtomicInteger _scanned = new AtomicInteger();
+    private volatile String _moduleName;
+    private int _classCount;
+    private final List<String> _referencedClassPath = new ArrayList<String>();
+    private final List<String> _unreferencedClassPath = new ArrayList<String>();
+    private final List<String> _missingClassPath = new ArrayList<String>();
+
+    /**
+     * Receives the results while the jar is scanned, the methods are called from the worker threads.
+     */
+    public interface Listener {
+        void mainClassFound(String className);
+    }
+
+    public JarAnalyzer(File jar) {
+        _jar = jar;
+    }
+
+    /**
+     * Blocks until the jar has been scanned, an interrupt of the calling thread stops the scan.
+     */
+    public JarAnalyzer analyze(Listener listener) throws IOException {
+        JarFile jar = new JarFile(_jar, false);
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            readManifest(jar.getManifest());
+            List<String> names = new ArrayList<String>();
+
+            for (Enumeration<? extends ZipEntry> e = jar.entries(); e.hasMoreElements();) {
+                String name = e.nextElement().getName();
+
+                if (name.endsWith(CLASS)) {
+                    names.add(name);
+                }
+            }
+
+            _classCount = names.size();
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+
+            for (int i = 0; i < names.size(); i += CHUNK_SIZE) {
+                futures.add(executor.submit(new ChunkScanner(jar,
+                        names.subList(i, Math.min(i + CHUNK_SIZE, names.size())), listener)));
+            }
+
+            for (Future<Void> future : futures) {
+                get(future);
+            }
+        } finally {
+            executor.shutdownNow();
+            jar.close();
+        }
+
+        checkClassPath();
+        return this;
+    }
+
+    public File getJar() {
+        return _jar;
+    }
+
+    public boolean hasManifest() {
+        return _manifest;
+    }
+
+    public String getManifestMainClass() {
+        return _manifestMainClass;
+    }
+
+    public List<String> getClassPath() {
+        return _classPath;
+    }
+
+    /**
+     * Number of class files in the jar, known once the scan has started.
+     */
+    public int getClassCount() {
+        return _classCount;
+    }
+
+    public int getScannedCount() {
+        return _scanned.get();
+    }
+
+    public List<String> getMainClasses() {
+        List<String> classes = new ArrayList<String>(_mainClasses);
+        Collections.sort(classes);
+        return classes;
+    }
+
+    /**
+     * Name of the module declared by the jar, or null if there's no module descriptor.
+     */
+    public String getModuleName() {
+        return _moduleName;
+    }
+
+    /**
+     * <code>Class-Path</code> entries that provide at least one class referenced by the jar.
+     */
+    public List<String> getReferencedClassPath() {
+        return _referencedClassPath;
+    }
+
+    /**
+     * <code>Class-Path</code> entries that exist, but don't provide any class referenced by the jar. Classes loaded
+     * by reflection or through services aren't visible in the constant pool, so these are only candidates.
+     */
+    public List<String> getUnreferencedClassPath() {
+        return _unreferencedClassPath;
+    }
+
+    public List<String> getMissingClassPath() {
+        return _missingClassPath;
+    }
+
+    private void readManifest(Manifest manifest) {
+        if (manifest == null) {
+            return;
+        }
+
+        _manifest = true;
+        Attributes attr = manifest.getMainAttributes();
+        _manifestMainClass = attr.getValue(Attributes.Name.MAIN_CLASS);
+        String classPath = attr.getValue(Attributes.Name.CLASS_PATH);
+
+        if (classPath != null) {
+            for (String path : classPath.trim().split("\\s+")) {
+                if (path.length() > 0) {
+                    _classPath.add(path);
+                }
+            }
+        }
+    }
+
+    private void checkClassPath() throws IOException {
+        Set<String> references = new HashSet<String>(_references);
+        references.removeAll(_classes);
+
+        for (String path : _classPath) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException();
+            }
+
+            File f = new File(_jar.getAbsoluteFile().getParentFile(), path.replace('/', File.separatorChar));
+
+            if (!f.exists()) {
+                _missingClassPath.add(path);
+            } else if (provides(f, references)) {
+                _referencedClassPath.add(path);
+            } else {
+                _unreferencedClassPath.add(path);
+            }
+        }
+    }
+
+    private boolean provides(File f, Set<String> references) throws IOException {
+        if (f.isDirectory()) {
+            for (String className : references) {
+                if (new File(f, className.replace('/', File.separatorChar) + CLASS).isFile()) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        ZipFile zip = new ZipFile(f);
+
+        try {
+            for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
+                String name = toClassName(e.nextElement().getName());
+
+                if (name != null && references.contains(name)) {
+                    return true;
+                }
+            }
+
+            return false;
+        } finally {
+            zip.close();
+        }
+    }
+
+    /**
+     * Strips the extension and the multi-release prefix, returns null if the entry isn't a class file.
+     */
+    private static String toClassName(String entry) {
+        if (!entry.endsWith(CLASS)) {
+            return null;
+        }
+
+        if (entry.startsWith(VERSIONS)) {
+            int x = entry.indexOf('/', VERSIONS.length());
+
+            if (x == -1) {
+                return null;
+            }
+
+            entry = entry.substring(x + 1);
+        }
+
+        return entry.substring(0, entry.length() - CLASS.length());
+    }
+
+    private void get(Future<Void> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private class ChunkScanner implements Callable<Void> {
+        private final ZipFile _zip;
+        private final List<String> _names;
+        private final Listener _listener;
+        private final Set<String> _chunkReferences = new HashSet<String>();
+        private final byte[] _buffer = new byte[8192];
+
+        ChunkScanner(ZipFile zip, List<String> names, Listener listener) {
+            _zip = zip;
+            _names = names;
+            _listener = listener;
+        }
+
+        public Void call() throws IOException {
+            for (String name : _names) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException();
+                }
+
+                ZipEntry entry = _zip.getEntry(name);
+
+                if (entry != null) {
+                    InputStream is = _zip.getInputStream(entry);
+
+                    try {
+                        scan(name, read(is, entry.getSize()));
+                    } finally {
+                        Util.close(is);
+                    }
+                }
+
+                _scanned.incrementAndGet();
+            }
+
+            _references.addAll(_chunkReferences);
+            return null;
+        }
+
+        private byte[] read(InputStream is, long size) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(size > 0 ? (int) size : 8192);
+            int len;
+
+            while ((len = is.read(_buffer)) != -1) {
+                bytes.write(_buffer, 0, len);
+            }
+
+            return bytes.toByteArray();
+        }
+
+        private void scan(String entry, byte[] data) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+
+            if (data.length < 10 || in.readInt() != CLASS_MAGIC) {
+                return;
+            }
+
+            in.readUnsignedShort(); // minor version
+            in.readUnsignedShort(); // major version
+            int count = in.readUnsignedShort();
+            int[] tags = new int[count];
+            int[] refs = new int[count];
+            String[] utf8 = new String[count];
+
+            for (int i = 1; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                tags[i] = tag;
+
+                switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8[i] = in.readUTF();
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                    refs[i] = in.readUnsignedShort();
+                    break;
+                case CONSTANT_NAME_AND_TYPE:
+                    in.readUnsignedShort();
+                    refs[i] = in.readUnsignedShort();
+                    break;
+                case CONSTANT_STRING:
+                case CONSTANT_PACKAGE:
+                    in.skipBytes(2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    in.skipBytes(3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    in.skipBytes(4);
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException(Messages.getString("JarAnalyzer.invalid.class", entry));
+                }
+            }
+
+            for (int i = 1; i < count; i++) {
+                if (tags[i] == CONSTANT_CLASS) {
+                    addReference(utf8[refs[i]]);
+                } else if (tags[i] == CONSTANT_NAME_AND_TYPE || tags[i] == CONSTANT_METHOD_TYPE) {
+                    addDescriptor(utf8[refs[i]]);
+                }
+            }
+
+            in.readUnsignedShort(); // access flags
+            String className = utf8[refs[in.readUnsignedShort()]];
+            in.readUnsignedShort(); // super class
+            in.skipBytes(in.readUnsignedShort() * 2);
+
+            if (MODULE_INFO.equals(entry) || (entry.startsWith(VERSIONS) && entry.endsWith("/" + MODULE_INFO))) {
+                skipMembers(in, utf8, false);
+                skipMembers(in, utf8, false);
+                readModuleName(in, tags, refs, utf8);
+                return;
+            }
+
+            _classes.add(className);
+            skipMembers(in, utf8, false);
+
+            if (skipMembers(in, utf8, true) && _mainClasses.add(className.replace('/', '.'))
+                    && _listener != null) {
+                _listener.mainClassFound(className.replace('/', '.'));
+            }
+        }
+
+        /**
+         * Skips the fields or the methods, adding the types of their descriptors to the references. Returns true if
+         * one of the methods is <code>public static void main(String[])</code>.
+         */
+        private boolean skipMembers(DataInputStream in, String[] utf8, boolean methods) throws IOException {
+            boolean main = false;
+
+            for (int i = in.readUnsignedShort(); i > 0; i--) {
+                int access = in.readUnsignedShort();
+                String name = utf8[in.readUnsignedShort()];
+                String descriptor = utf8[in.readUnsignedShort()];
+                addDescriptor(descriptor);
+                skipAttributes(in);
+
+                if (methods && (access & (ACC_PUBLIC | ACC_STATIC)) == (ACC_PUBLIC | ACC_STATIC)
+                        && "main".equals(name) && MAIN_DESCRIPTOR.equals(descriptor)) {
+                    main = true;
+                }
+            }
+
+            return main;
+        }
+
+        private void skipAttributes(DataInputStream in) throws IOException {
+            for (int i = in.readUnsignedShort(); i > 0; i--) {
+                in.readUnsignedShort();
+                in.skipBytes(in.readInt());
+            }
+        }
+
+        private void readModuleName(DataInputStream in, int[] tags, int[] refs, String[] utf8) throws IOException {
+            for (int i = in.readUnsignedShort(); i > 0; i--) {
+                String name = utf8[in.readUnsignedShort()];
+                int length = in.readInt();
+
+                if ("Module".equals(name)) {
+                    int module = in.readUnsignedShort();
+
+                    if (tags[module] == CONSTANT_MODULE) {
+                        _moduleName = utf8[refs[module]];
+                    }
+
+                    return;
+                }
+
+                in.skipBytes(length);
+            }
+        }
+
+        private void addReference(String name) {
+            if (name == null) {
+                return;
+            }
+
+            if (name.startsWith("[")) {
+                addDescriptor(name);
+            } else {
+                _chunkReferences.add(name);
+            }
+        }
+
+        /**
+         * Adds the class types of a field or method descriptor, e.g. <code>(ILjava/lang/String;)[Lfoo/Bar;</code>.
+         */
+        private void addDescriptor(String descriptor) {
+            if (descriptor == null) {
+                return;
+            }
+
+            for (int i = 0; i < descriptor.length(); i++) {
+                if (descriptor.charAt(i) == 'L') {
+                    int end = descriptor.indexOf(';', i);
+
+                    if (end == -1) {
+                        return;
+                    }
+
+                    _chunkReferences.add(descriptor.substring(i + 1, end));
+                    i = end;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import net.sf.launch4j.config.JreVersion;
+
+/**
+ * Resolves the entries of a multi-release jar for the range of Java versions the executable accepts. Versioned
+ * entries selected by every Java version in the range replace the base entries, entries that no Java version in the
+ * range would select are removed and the remaining ones are kept in place.
+ */
+public class JarFlattener {
+    private static final String VERSIONS = "META-INF/versions/";
+    private static final String MULTI_RELEASE = "Multi-Release";
+
+    private final int _minFeature;
+    private final int _maxFeature;
+    private int _resolved;
+    private int _removed;
+    private int _kept;
+
+    /**
+     * @param minVersion minimum JRE version, may be empty.
+     * @param maxVersion maximum JRE version, may be empty.
+     */
+    public JarFlattener(String minVersion, String maxVersion) {
+        _minFeature = JreVersion.parseString(minVersion).getFeature();
+        int max = JreVersion.parseString(maxVersion).getFeature();
+        _maxFeature = max > 0 ? max : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Versioned entries that replaced the base entries.
+     */
+    public int getResolved() {
+        return _resolved;
+    }
+
+    /**
+     * Versioned entries that were removed.
+     */
+    public int getRemoved() {
+        return _removed;
+    }
+
+    /**
+     * Versioned entries that are still resolved at runtime.
+     */
+    public int getKept() {
+        return _kept;
+    }
+
+    /**
+     * @return Temporary file containing the flattened jar or null if the jar is not a multi-release jar.
+     */
+    public File flatten(File jar) throws IOException {
+        JarFile jf = new JarFile(jar, false);
+        File flattened = null;
+        ZipOutputStream os = null;
+
+        try {
+            Manifest manifest = jf.getManifest();
+
+            if (manifest == null
+                    || !"true".equalsIgnoreCase(manifest.getMainAttributes().getValue(MULTI_RELEASE))) {
+                return null;
+            }
+
+            // Base name -> the versioned entry selected by every Java version in the range
+            Map<String, ZipEntry> floor = new HashMap<String, ZipEntry>();
+            Map<String, Integer> floorVersion = new HashMap<String, Integer>();
+            boolean versioned = false;
+
+            for (Enumeration<JarEntry> en = entries(jf); en.hasMoreElements();) {
+                JarEntry e = en.nextElement();
+
+                if (e.entry.isDirectory() || e.version == 0) {
+                    continue;
+                }
+
+                if (e.version <= _minFeature) {
+                    Integer v = floorVersion.get(e.name);
+
+                    if (v == null || v.intValue() < e.version) {
+                        floor.put(e.name, e.entry);
+                        floorVersion.put(e.name, Integer.valueOf(e.version));
+                    }
+                } else if (e.version <= _maxFeature) {
+                    versioned = true;
+                }
+            }
+
+            if (!versioned) {
+                manifest.getMainAttributes().remove(new Attributes.Name(MULTI_RELEASE));
+            }
+
+            flattened = Util.createTempFile("jar");
+            os = new ZipOutputStream(new FileOutputStream(flattened));
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            manifest.write(bytes);
+            os.putNextEntry(new ZipEntry(JarFile.MANIFEST_NAME));
+            os.write(bytes.toByteArray());
+            os.closeEntry();
+
+            for (Enumeration<JarEntry> en = entries(jf); en.hasMoreElements();) {
+                JarEntry e = en.nextElement();
+                String name = e.entry.getName();
+
+                if (e.version == 0) {
+                    if (!name.equalsIgnoreCase(JarFile.MANIFEST_NAME) && (versioned || !name.equals(VERSIONS))) {
+                        ZipEntry source = floor.remove(e.name);
+                        copy(jf, source != null ? source : e.entry, e.name, os);
+                    }
+                } else if (e.version <= _minFeature || e.version > _maxFeature) {
+                    if (!e.entry.isDirectory()) {
+                        Integer v = floorVersion.get(e.name);
+
+                        if (v != null && v.intValue() == e.version) {
+                            _resolved++;
+                        } else {
+                            _removed++;
+                        }
+                    }
+                } else {
+                    if (!e.entry.isDirectory()) {
+                        _kept++;
+                    }
+
+                    copy(jf, e.entry, name, os);
+                }
+            }
+
+            // Versioned entries without a base entry
+            for (Map.Entry<String, ZipEntry> e : floor.entrySet()) {
+                copy(jf, e.getValue(), e.getKey(), os);
+            }
+
+            os.close();
+            os = null;
+            return flattened;
+        } catch (IOException e) {
+            Util.close(os);
+            Util.delete(flattened);
+            throw e;
+        } finally {
+            jf.close();
+        }
+    }
+
+    private void copy(JarFile jf, ZipEntry source, String name, ZipOutputStream os) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(source.getTime());
+        os.putNextEntry(entry);
+
+        if (!source.isDirectory()) {
+            InputStream is = jf.getInputStream(source);
+
+            try {
+                copy(is, os);
+            } finally {
+                Util.close(is);
+            }
+        }
+
+        os.closeEntry();
+    }
+
+    private void copy(InputStream is, OutputStream os) throws IOException {
+        byte[] buffer = new byte[8192];
+        int len;
+
+        while ((len = is.read(buffer)) != -1) {
+            os.write(buffer, 0, len);
+        }
+    }
+
+    private Enumeration<JarEntry> entries(JarFile jf) {
+        final Enumeration<? extends ZipEntry> en = jf.entries();
+
+        return new Enumeration<JarEntry>() {
+            public boolean hasMoreElements() {
+                return en.hasMoreElements();
+            }
+
+            public JarEntry nextElement() {
+                return new JarEntry(en.nextElement());
+            }
+        };
+    }
+
+    /**
+     * Entry name split into the Java version and the base name, version 0 denotes a base entry.
+     */
+    private static class JarEntry {
+        final ZipEntry entry;
+        final int version;
+        final String name;
+
+        JarEntry(ZipEntry entry) {
+            this.entry = entry;
+            String s = entry.getName();
+            int version = 0;
+            String name = s;
+
+            if (s.startsWith(VERSIONS)) {
+                int x = s.indexOf('/', VERSIONS.length());
+
+                if (x != -1) {
+                    try {
+                        version = Integer.parseInt(s.substring(VERSIONS.length(), x));
+                        name = s.substring(x + 1);
+                    } catch (NumberFormatException e) {
+                        // Not a versioned entry
+                    }
+                }
+            }
+
+            this.version = version >= 9 ? version : 0;
+            this.name = this.version > 0 ? name : s;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Merges the application jar and the jars listed on the runtime classpath into a single jar that is wrapped in the
+ * executable. Jars are read in parallel and written in classpath order, the first occurrence of an entry wins.
+ * Service provider files are merged and signature files are stripped.
+ */
+public class JarMerger {
+    private static final String MANIFEST = JarFile.MANIFEST_NAME;
+    private static final String META_INF = "META-INF/";
+    private static final String SERVICES = "META-INF/services/";
+    private static final String VERSIONS = "META-INF/versions/";
+    private static final String MULTI_RELEASE = "Multi-Release";
+
+    private final Log _log;
+    private final List<String> _remainingPaths = new ArrayList<String>();
+    private int _mergedJars;
+
+    public JarMerger(Log log) {
+        _log = log;
+    }
+
+    /**
+     * Classpath entries that were not merged and still have to be passed to the JVM.
+     */
+    public List<String> getRemainingPaths() {
+        return _remainingPaths;
+    }
+
+    public int getMergedJars() {
+        return _mergedJars;
+    }
+
+    /**
+     * @param jar application jar, its manifest and entries take precedence.
+     * @param paths runtime classpath, jars are resolved relative to basedir.
+     * @return Temporary file containing the merged jar.
+     */
+    public File merge(File jar, List<String> paths, File basedir) throws IOException {
+        List<File> jars = new ArrayList<File>();
+        jars.add(jar);
+
+        if (paths != null) {
+            for (String path : paths) {
+                File f = isMergeable(path) ? Util.getAbsoluteFile(basedir, new File(path)) : null;
+
+                if (f != null && f.isFile()) {
+                    jars.add(f);
+                } else {
+                    if (f != null) {
+                        _log.append(Messages.getString("JarMerger.not.found", path));
+                    }
+
+                    _remainingPaths.add(path);
+                }
+            }
+        }
+
+        _mergedJars = jars.size() - 1;
+        File merged = Util.createTempFile("jar");
+        ZipOutputStream os = null;
+        int threads = Math.max(1, Math.min(jars.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            os = new ZipOutputStream(new FileOutputStream(merged));
+            writeManifest(os, jars);
+
+            Set<String> names = new HashSet<String>();
+            Map<String, Set<String>> services = new LinkedHashMap<String, Set<String>>();
+            List<Future<List<Entry>>> futures = new ArrayList<Future<List<Entry>>>();
+            int submitted = 0;
+
+            // Read ahead a bounded number of jars to keep memory usage flat
+            for (; submitted < jars.size() && submitted < threads * 2; submitted++) {
+                futures.add(executor.submit(new JarReader(jars.get(submitted), submitted == 0)));
+            }
+
+            for (int i = 0; i < jars.size(); i++) {
+                List<Entry> entries = get(futures.get(i));
+                futures.set(i, null);
+
+                if (submitted < jars.size()) {
+                    futures.add(executor.submit(new JarReader(jars.get(submitted), false)));
+                    submitted++;
+                }
+
+                for (Entry e : entries) {
+                    if (e.name.startsWith(SERVICES) && !e.isDirectory()) {
+                        addServices(services, e);
+                    } else if (names.add(e.name)) {
+                        write(os, e.name, e.time, e.data);
+                    }
+                }
+            }
+
+            for (Map.Entry<String, Set<String>> service : services.entrySet()) {
+                StringBuilder sb = new StringBuilder();
+
+                for (String provider : service.getValue()) {
+                    sb.append(provider).append('\n');
+                }
+
+                write(os, service.getKey(), -1, sb.toString().getBytes("UTF-8"));
+            }
+
+            os.close();
+            os = null;
+            return merged;
+        } catch (IOException e) {
+            Util.close(os);
+            Util.delete(merged);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isMergeable(String path) {
+        return path.toLowerCase().endsWith(".jar") && path.indexOf('%') == -1 && path.indexOf('*') == -1;
+    }
+
+    /**
+     * The manifest of the application jar is written first, the Multi-Release attribute is set if any of the merged
+     * jars is a multi-release jar.
+     */
+    private void writeManifest(ZipOutputStream os, List<File> jars) throws IOException {
+        Manifest manifest = readManifest(jars.get(0));
+        boolean multiRelease = manifest != null
+                && "true".equalsIgnoreCase(manifest.getMainAttributes().getValue(MULTI_RELEASE));
+
+        for (int i = 1; i < jars.size() && !multiRelease; i++) {
+            Manifest m = readManifest(jars.get(i));
+            multiRelease = m != null && "true".equalsIgnoreCase(m.getMainAttributes().getValue(MULTI_RELEASE));
+        }
+
+        if (manifest == null) {
+            if (!multiRelease) {
+                return;
+            }
+
+            manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        }
+
+        if (multiRelease) {
+            manifest.getMainAttributes().putValue(MULTI_RELEASE, "true");
+        }
+
+        // Signature files are stripped, so are the entry digests
+        for (Iterator<Attributes> i = manifest.getEntries().values().iterator(); i.hasNext();) {
+            Attributes attributes = i.next();
+
+            for (Iterator<Object> j = attributes.keySet().iterator(); j.hasNext();) {
+                if (j.next().toString().toUpperCase().endsWith("-DIGEST")) {
+                    j.remove();
+                }
+            }
+
+            if (attributes.isEmpty()) {
+                i.remove();
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        manifest.write(bytes);
+        write(os, META_INF, -1, null);
+        write(os, MANIFEST, -1, bytes.toByteArray());
+    }
+
+    private Manifest readManifest(File jar) throws IOException {
+        JarFile jf = new JarFile(jar, false);
+
+        try {
+            return jf.getManifest();
+        } finally {
+            jf.close();
+        }
+    }
+
+    private void addServices(Map<String, Set<String>> services, Entry e) throws IOException {
+        Set<String> providers = services.get(e.name);
+
+        if (providers == null) {
+            providers = new LinkedHashSet<String>();
+            services.put(e.name, providers);
+        }
+
+        for (String line : new String(e.data, "UTF-8").split("[\r\n]+")) {
+            int x = line.indexOf('#');
+            String provider = (x != -1 ? line.substring(0, x) : line).trim();
+
+            if (provider.length() > 0) {
+                providers.add(provider);
+            }
+        }
+    }
+
+    private void write(ZipOutputStream os, String name, long time, byte[] data) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+
+        if (time != -1) {
+            entry.setTime(time);
+        }
+
+        os.putNextEntry(entry);
+
+        if (data != null) {
+            os.write(data);
+        }
+
+        os.closeEntry();
+    }
+
+    private List<Entry> get(Future<List<Entry>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static boolean isSignature(String name) {
+        if (!name.startsWith(META_INF) || name.indexOf('/', META_INF.length()) != -1) {
+            return false;
+        }
+
+        String s = name.substring(META_INF.length()).toUpperCase();
+        return s.endsWith(".SF") || s.endsWith(".DSA") || s.endsWith(".RSA") || s.endsWith(".EC")
+                || s.startsWith("SIG-");
+    }
+
+    private static boolean isSkipped(String name, boolean primary) {
+        if (name.equalsIgnoreCase(MANIFEST) || name.equalsIgnoreCase(META_INF) || name.equals("META-INF/INDEX.LIST")
+                || isSignature(name)) {
+            return true;
+        }
+
+        // Module descriptors of the merged jars would describe the wrong module
+        return !primary && (name.equals("module-info.class")
+                || (name.startsWith(VERSIONS) && name.endsWith("/module-info.class")));
+    }
+
+    private static class Entry {
+        final String name;
+        final long time;
+        final byte[] data;
+
+        Entry(String name, long time, byte[] data) {
+            this.name = name;
+            this.time = time;
+            this.data = data;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+
+    private static class JarReader implements Callable<List<Entry>> {
+        private final File _jar;
+        private final boolean _primary;
+
+        JarReader(File jar, boolean primary) {
+            _jar = jar;
+            _primary = primary;
+        }
+
+        public List<Entry> call() throws IOException {
+            ZipFile zf = new ZipFile(_jar);
+
+            try {
+                List<Entry> entries = new ArrayList<Entry>(zf.size());
+                byte[] buffer = new byte[8192];
+
+                for (Enumeration<? extends ZipEntry> en = zf.entries(); en.hasMoreElements();) {
+                    ZipEntry ze = en.nextElement();
+
+                    if (isSkipped(ze.getName(), _primary)) {
+                        continue;
+                    }
+
+                    if (ze.isDirectory()) {
+                        entries.add(new Entry(ze.getName(), ze.getTime(), null));
+                        continue;
+                    }
+
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                            ze.getSize() > 0 ? (int) ze.getSize() : buffer.length);
+                    InputStream is = zf.getInputStream(ze);
+
+                    try {
+                        int len;
+
+                        while ((len = is.read(buffer)) != -1) {
+                            bytes.write(buffer, 0, len);
+                        }
+                    } finally {
+                        Util.close(is);
+                    }
+
+                    entries.add(new Entry(ze.getName(), ze.getTime(), bytes.toByteArray()));
+                }
+
+                return entries;
+            } finally {
+                zf.close();
+            }
+        }
+    }
+}
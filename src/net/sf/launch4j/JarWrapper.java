@@ -0,0 +1,265 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import net.sf.launch4j.pe.PeDigester;
+
+/**
+ * Appends the jar to the executable and rewrites the central directory and end record offsets, so that they are
+ * absolute file positions. Readers can open the executable as a zip archive without compensating for the prefix,
+ * which is what zip -A does.
+ */
+public class JarWrapper {
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * @return End header of the appended archive.
+     */
+    public ZipEndHeader wrap(File jar, File exe) throws IOException {
+        return wrap(jar, exe, null);
+    }
+
+    /**
+     * Passes the appended bytes to the digester as they're copied. The central directory and end records, usually a
+     * small part of the jar, are read back after they have been rewritten.
+     *
+     * @param digester Digester that was passed the executable, or null.
+     * @return End header of the appended archive.
+     */
+    public ZipEndHeader wrap(File jar, File exe, PeDigester digester) throws IOException {
+        RandomAccessFile raf = null;
+        FileInputStream is = null;
+        ZipEndHeader header;
+
+        try {
+            raf = new RandomAccessFile(exe, "rw");
+            FileChannel out = raf.getChannel();
+            long base = out.size();
+            is = new FileInputStream(jar);
+            FileChannel in = is.getChannel();
+            long len = in.size();
+            long tail = len;
+
+            if (digester == null) {
+                for (long pos = 0; pos < len;) {
+                    pos += out.transferFrom(in, base + pos, len - pos);
+                }
+            } else {
+                ZipEndHeader jarHeader = ZipEndHeader.find(in);
+
+                if (jarHeader != null) {
+                    tail = Math.min(jarHeader.getCentralDirectoryPosition(), len);
+                }
+
+                copy(in, out, base, digester, tail);
+            }
+
+            header = ZipEndHeader.find(out);
+
+            if (header == null || header.getPosition() < base || header.getCentralDirectoryPosition() < base) {
+                throw new IOException(Messages.getString("JarWrapper.not.zip", jar.getPath()));
+            }
+
+            long delta = header.getPrefixLength();
+
+            if (delta != 0) {
+                relocateCentralDirectory(out, header, delta);
+                header.relocate(out, delta);
+            }
+
+            if (digester != null) {
+                digest(out, base + tail, digester);
+            }
+        } finally {
+            Util.close(is);
+            Util.close(raf);
+        }
+
+        validate(exe, header);
+        return header;
+    }
+
+    private void copy(FileChannel in, FileChannel out, long base, PeDigester digester, long digested)
+            throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(BUFFER_SIZE);
+        long pos = 0;
+
+        while (in.read(b, pos) > 0) {
+            b.flip();
+
+            if (pos < digested) {
+                ByteBuffer d = b.duplicate();
+                d.limit((int) Math.min(d.limit(), digested - pos));
+                digester.update(d);
+            }
+
+            while (b.hasRemaining()) {
+                out.write(b, base + pos + b.position());
+            }
+
+            pos += b.limit();
+            b.clear();
+        }
+    }
+
+    private void digest(FileChannel ch, long position, PeDigester digester) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(BUFFER_SIZE);
+
+        while (ch.read(b, position) > 0) {
+            b.flip();
+            digester.update(b);
+            position += b.limit();
+            b.clear();
+        }
+    }
+
+    /**
+     * Rewrites the offsets of a zip archive, so that they match the actual file positions. Used for archives that
+     * were cut out of an executable.
+     */
+    public void relocate(File zip) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(zip, "rw");
+
+        try {
+            FileChannel ch = raf.getChannel();
+            ZipEndHeader header = ZipEndHeader.find(ch);
+
+            if (header == null) {
+                throw new IOException(Messages.getString("JarWrapper.not.zip", zip.getPath()));
+            }
+
+            long delta = header.getPrefixLength();
+
+            if (delta != 0) {
+                relocateCentralDirectory(ch, header, delta);
+                header.relocate(ch, delta);
+            }
+        } finally {
+            Util.close(raf);
+        }
+    }
+
+    /**
+     * Adds delta to the local header offset of each central directory entry, including Zip64 extra fields.
+     */
+    private void relocateCentralDirectory(FileChannel ch, ZipEndHeader header, long delta) throws IOException {
+        long position = header.getCentralDirectoryPosition();
+        long size = header.getCentralDirectorySize();
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(Messages.getString("JarWrapper.central.directory", String.valueOf(position)));
+        }
+
+        ByteBuffer cd = ZipEndHeader.read(ch, position, (int) size);
+
+        for (int p = 0; p < size;) {
+            long offset = ZipCentralHeader.isHeader(cd, p, size) ? ZipCentralHeader.getOffset(cd, p) : -1;
+
+            if (offset == -1) {
+                throw new IOException(Messages.getString("JarWrapper.central.directory", String.valueOf(position + p)));
+            }
+
+            ZipCentralHeader.setOffset(cd, p, offset + delta);
+            p += ZipCentralHeader.getLength(cd, p);
+        }
+
+        ZipEndHeader.write(ch, position, cd);
+    }
+
+    /**
+     * Opens the executable as a zip archive and reads the first and the last entry, which fails if the central
+     * directory doesn't match the local headers.
+     */
+    private void validate(File exe, ZipEndHeader header) throws IOException {
+        ZipFile zf = null;
+
+        try {
+            zf = new ZipFile(exe);
+
+            if (zf.size() != header.getEntries()) {
+                throw new IOException(Messages.getString("JarWrapper.entries"));
+            }
+
+            ZipEntry first = null;
+            ZipEntry last = null;
+
+            for (Enumeration<? extends ZipEntry> en = zf.entries(); en.hasMoreElements();) {
+                ZipEntry e = en.nextElement();
+
+                if (!e.isDirectory()) {
+                    if (first == null) {
+                        first = e;
+                    }
+
+                    last = e;
+                }
+            }
+
+            read(zf, first);
+            read(zf, last);
+        } catch (IOException e) {
+            throw new IOException(Messages.getString("JarWrapper.invalid", exe.getPath()) + " " + e.getMessage(), e);
+        } finally {
+            Util.close(zf);
+        }
+    }
+
+    private void read(ZipFile zf, ZipEntry e) throws IOException {
+        if (e == null) {
+            return;
+        }
+
+        InputStream is = zf.getInputStream(e);
+
+        try {
+            is.read();
+        } finally {
+            Util.close(is);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.jsign.DigestAlgorithm;
+import net.jsign.KeyStoreUtils;
+import net.jsign.PESigner;
+import net.jsign.pe.PEFile;
+import net.jsign.timestamp.TimestampingMode;
+import net.sf.launch4j.binding.Validator;
+import net.sf.launch4j.config.Signing;
+
+/**
+ * Signs the executable in-process with jsign. Keys are loaded once per keystore and reused by all builds running in
+ * the same JVM.
+ */
+public class JsignSigner implements ExeSigner {
+    private static final Map<String, Credentials> _credentials = new HashMap<String, Credentials>();
+
+    private final Signing _signing;
+    private final File _keystore;
+
+    /**
+     * @param basedir directory relative keystore paths are resolved against.
+     */
+    public JsignSigner(Signing signing, File basedir) {
+        _signing = signing;
+        _keystore = Util.getAbsoluteFile(basedir, signing.getKeystore());
+    }
+
+    public void sign(File exe) throws IOException {
+        PEFile pe = new PEFile(new MappedFileChannel(exe));
+
+        try {
+            createSigner().sign(pe);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(Messages.getString("JsignSigner.failed", e.getMessage()), e);
+        } finally {
+            Util.close(pe);
+        }
+    }
+
+    private PESigner createSigner() throws IOException {
+        Credentials credentials = getCredentials();
+        PESigner signer = new PESigner(credentials.chain, credentials.key).withSignaturesReplaced(true)
+                .withTimestamping(!_signing.isOffline());
+
+        if (!Validator.isEmpty(_signing.getAlg())) {
+            signer.withDigestAlgorithm(DigestAlgorithm.of(_signing.getAlg()));
+        }
+
+        if (!Validator.isEmpty(_signing.getTsaurl())) {
+            signer.withTimestampingAutority(_signing.getTsaurl());
+        }
+
+        if (!Validator.isEmpty(_signing.getTsmode())) {
+            signer.withTimestampingMode(TimestampingMode.of(_signing.getTsmode()));
+        }
+
+        if (!Validator.isEmpty(_signing.getName())) {
+            signer.withProgramName(_signing.getName());
+        }
+
+        if (!Validator.isEmpty(_signing.getUrl())) {
+            signer.withProgramURL(_signing.getUrl());
+        }
+
+        return signer;
+    }
+
+    private Credentials getCredentials() throws IOException {
+        String id = _keystore.getAbsolutePath() + '|' + _keystore.lastModified() + '|' + _signing.getStoretype()
+                + '|' + _signing.getAlias();
+
+        synchronized (_credentials) {
+            Credentials credentials = _credentials.get(id);
+
+            if (credentials == null) {
+                credentials = loadCredentials();
+                _credentials.put(id, credentials);
+            }
+
+            return credentials;
+        }
+    }
+
+    private Credentials loadCredentials() throws IOException {
+        try {
+            String storepass = _signing.getStorepass();
+            KeyStore ks = KeyStoreUtils.load(_keystore, _signing.getStoretype(), storepass, null);
+            String alias = _signing.getAlias();
+
+            if (Validator.isEmpty(alias)) {
+                alias = ks.aliases().hasMoreElements() ? ks.aliases().nextElement() : null;
+            }
+
+            String keypass = !Validator.isEmpty(_signing.getKeypass()) ? _signing.getKeypass() : storepass;
+            Key key = alias != null ? ks.getKey(alias, keypass != null ? keypass.toCharArray() : null) : null;
+            Certificate[] chain = alias != null ? ks.getCertificateChain(alias) : null;
+
+            if (!(key instanceof PrivateKey) || chain == null) {
+                throw new IOException(Messages.getString("JsignSigner.no.key", String.valueOf(alias),
+                        _keystore.getPath()));
+            }
+
+            return new Credentials(chain, (PrivateKey) key);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(Messages.getString("JsignSigner.keystore", _keystore.getPath(), e.getMessage()),
+                    e);
+        }
+    }
+
+    private static class Credentials {
+        final Certificate[] chain;
+        final PrivateKey key;
+
+        Credentials(Certificate[] chain, PrivateKey key) {
+            this.chain = chain;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Properties;
+
+import net.sf.launch4j.config.Config;
+import net.sf.launch4j.config.ConfigPersister;
+
+/**
+ * What an executable was linked and wrapped from, stored in the cache after each build. Patching and wrapping
+ * again keep the linked header and the wrapped jar, so they are only possible if these are still the configured
+ * ones. The record is ignored once the executable was changed by something else.
+ */
+class LinkRecord {
+    private static final String HEADER = "header";
+    private static final String JAR = "jar";
+    private static final String OUTPUT = "output";
+
+    private final String _header;
+    private final String _jar;
+
+    /**
+     * @param bindir Directory the header objects and libs are relative to.
+     */
+    LinkRecord(Config c, File bindir) {
+        StringBuilder header = new StringBuilder(c.getHeaderType());
+        addFiles(header, bindir, c.getHeaderObjects());
+        addFiles(header, bindir, c.getLibs());
+        _header = BuildStamp.digest(header.toString());
+
+        if (c.isDontWrapJar()) {
+            _jar = "-";
+        } else {
+            File jar = Util.getAbsoluteFile(ConfigPersister.getInstance().getConfigPath(), c.getJar());
+            StringBuilder sb = new StringBuilder(jar.getAbsolutePath()).append('\n')
+                    .append(BuildStamp.getFileState(jar));
+
+            if (c.isFlattenMultiRelease()) {
+                sb.append("\nflatten:");
+
+                if (c.getJre() != null) {
+                    sb.append(c.getJre().getMinVersion()).append('-').append(c.getJre().getMaxVersion());
+                }
+            }
+
+            _jar = BuildStamp.digest(sb.toString());
+        }
+    }
+
+    private LinkRecord(Properties props) {
+        _header = props.getProperty(HEADER);
+        _jar = props.getProperty(JAR);
+    }
+
+    /**
+     * @return Record of the last build of the output file or null if there's none or the file changed since.
+     */
+    static LinkRecord read(File outfile) throws IOException {
+        File f = getRecordFile(outfile);
+
+        if (!f.isFile()) {
+            return null;
+        }
+
+        Properties props = new Properties();
+        InputStream is = null;
+        try {
+            is = new FileInputStream(f);
+            props.load(is);
+        } finally {
+            Util.close(is);
+        }
+
+        return BuildStamp.getFileState(outfile).equals(props.getProperty(OUTPUT)) ? new LinkRecord(props) : null;
+    }
+
+    /**
+     * Stores the record with the current state of the output file, call after it was written.
+     */
+    void write(File outfile) throws IOException {
+        File f = getRecordFile(outfile);
+
+        if (!f.getParentFile().isDirectory() && !f.getParentFile().mkdirs()) {
+            throw new IOException(Messages.getString("BuildStamp.dir", f.getParent()));
+        }
+
+        Properties props = new Properties();
+        props.setProperty(HEADER, _header);
+        props.setProperty(JAR, _jar);
+        props.setProperty(OUTPUT, BuildStamp.getFileState(outfile));
+        OutputStream os = null;
+        try {
+            os = new FileOutputStream(f);
+            props.store(os, outfile.getPath());
+        } finally {
+            Util.close(os);
+        }
+    }
+
+    boolean isSameHeader(LinkRecord other) {
+        return _header.equals(other._header);
+    }
+
+    boolean isSameJar(LinkRecord other) {
+        return _jar.equals(other._jar);
+    }
+
+    private static void addFiles(StringBuilder sb, File bindir, List<String> paths) {
+        for (String path : paths) {
+            sb.append('\n').append(path).append(' ')
+                    .append(BuildStamp.getFileState(Util.getAbsoluteFile(bindir, new File(path))));
+        }
+    }
+
+    private static File getRecordFile(File outfile) throws IOException {
+        return new File(Util.getCacheDir("links"), BuildStamp.digest(outfile.getCanonicalPath()) + ".properties");
+    }
+}
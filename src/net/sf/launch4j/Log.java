@@ -36,8 +36,14 @@
  */
 package net.sf.launch4j;
 
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import javax.swing.JTextArea;
-import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.text.BadLocationException;
 
 /**
  * @author Copyright (C) 2005 Grzegorz Kowal
@@ -83,26 +89,90 @@ class AntLog extends Log {
     }
 }
 
+/**
+ * Lines are buffered and appended to the text area in one batch per flush interval, so that verbose output doesn't
+ * flood the event dispatch thread. Only the most recent lines are retained.
+ */
 class SwingLog extends Log {
+    private static final int FLUSH_MILLIS = 100;
+    private static final int MAX_LINES = 5000;
+
     private final JTextArea _textArea;
+    private final Deque<String> _pending = new ArrayDeque<String>();
+    private final Timer _timer;
+    private boolean _scheduled;
+    private boolean _clear;
 
     public SwingLog(JTextArea textArea) {
         _textArea = textArea;
+        _timer = new Timer(FLUSH_MILLIS, new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                flush();
+            }
+        });
+        _timer.setRepeats(false);
     }
 
     public void clear() {
-        SwingUtilities.invokeLater(new Runnable() {
-            public void run() {
-                _textArea.setText("");
+        synchronized (_pending) {
+            _pending.clear();
+            _clear = true;
+            if (!schedule()) {
+                return;
             }
-        });
+        }
+        _timer.restart();
+    }
+
+    public void append(String line) {
+        synchronized (_pending) {
+            if (_pending.size() == MAX_LINES) {
+                _pending.removeFirst();
+            }
+            _pending.addLast(line);
+            if (!schedule()) {
+                return;
+            }
+        }
+        _timer.restart();
     }
 
-    public void append(final String line) {
-        SwingUtilities.invokeLater(new Runnable() {
-            public void run() {
-                _textArea.append(line + "\n");
+    /**
+     * @return true if a flush has to be started.
+     */
+    private boolean schedule() {
+        if (_scheduled) {
+            return false;
+        }
+        _scheduled = true;
+        return true;
+    }
+
+    private void flush() {
+        StringBuilder sb = new StringBuilder();
+        boolean clear;
+        synchronized (_pending) {
+            for (String line : _pending) {
+                sb.append(line).append('\n');
             }
-        });
+            _pending.clear();
+            clear = _clear;
+            _clear = false;
+            _scheduled = false;
+        }
+        if (clear) {
+            _textArea.setText(sb.toString());
+        } else {
+            _textArea.append(sb.toString());
+        }
+        // The text ends with a line break, which is followed by an empty line
+        int excess = _textArea.getLineCount() - 1 - MAX_LINES;
+        if (excess > 0) {
+            try {
+                _textArea.replaceRange("", 0, _textArea.getLineEndOffset(excess - 1));
+            } catch (BadLocationException e) {
+                // cannot happen, the lines exist
+            }
+        }
     }
 }
@@ -37,8 +37,11 @@
 package net.sf.launch4j;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
+import net.sf.launch4j.config.Config;
 import net.sf.launch4j.config.ConfigPersister;
 import net.sf.launch4j.formimpl.MainFrame;
 
@@ -61,8 +64,40 @@ public class Main {
                 ConfigPersister.getInstance().load(new File(args[0]));
                 Builder b = new Builder(Log.getConsoleLog());
                 b.build();
+            } else if (args.length == 2 && args[0].equals("--patch")) {
+                ConfigPersister.getInstance().load(new File(args[1]));
+                Builder b = new Builder(Log.getConsoleLog());
+                b.patch();
+            } else if (args.length == 2 && args[0].equals("--watch")) {
+                new ConfigWatcher(Log.getConsoleLog(), new File(args[1])).watch();
+            } else if ((args.length == 2 || args.length == 3) && args[0].equals("--manifest")) {
+                int threads = args.length == 3 ? Integer.parseInt(args[2]) : 0;
+                new ManifestBuilder(Log.getConsoleLog(), threads).build(new File(args[1]));
+            } else if (args.length > 1 && args[0].equals("--verify")) {
+                List<File> files = new ArrayList<File>();
+                for (int i = 1; i < args.length; i++) {
+                    files.add(new File(args[i]));
+                }
+                int failed = new ExeVerifier(Log.getConsoleLog()).verify(files);
+                if (failed > 0) {
+                    throw new BuilderException(Messages.getString("Main.verify.failed", String.valueOf(failed)));
+                }
+            } else if ((args.length == 2 || args.length == 3) && args[0].equals("--extract")) {
+                File exe = new File(args[1]);
+                File dir = args.length == 3 ? new File(args[2]) : exe.getAbsoluteFile().getParentFile();
+                dir.mkdirs();
+                Config c = new ConfigExtractor().extract(exe, dir);
+                String name = exe.getName().replaceAll("(?i)\\.exe$", "") + ".xml";
+                File f = new File(dir, name);
+                ConfigPersister.getInstance().save(c, f);
+                Log.getConsoleLog().append(Messages.getString("Main.extracted", f.getPath()));
             } else {
-                System.out.println(_description + Messages.getString("Main.usage") + ": launch4j config.xml");
+                System.out.println(_description + Messages.getString("Main.usage") + ": launch4j config.xml\n"
+                        + "       launch4j --patch config.xml\n"
+                        + "       launch4j --watch config.xml\n"
+                        + "       launch4j --manifest manifest.xml [threads]\n"
+                        + "       launch4j --verify file.exe...\n"
+                        + "       launch4j --extract file.exe [dir]");
             }
         } catch (Exception e) {
             Log.getConsoleLog().append(e.getMessage());
@@ -0,0 +1,282 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import net.sf.launch4j.config.Config;
+import net.sf.launch4j.config.ConfigPersister;
+import net.sf.launch4j.config.ConfigPersisterException;
+import net.sf.launch4j.config.VersionInfo;
+
+/**
+ * Builds the executables listed in a manifest, each entry overriding the jar, output file and versions of a shared
+ * base configuration:
+ *
+ * <pre>
+ * &lt;launch4jManifest base="base.xml" threads="4"&gt;
+ *   &lt;entry&gt;
+ *     &lt;jar&gt;app.jar&lt;/jar&gt;
+ *     &lt;outfile&gt;app.exe&lt;/outfile&gt;
+ *     &lt;fileVersion&gt;1.0.0.0&lt;/fileVersion&gt;
+ *   &lt;/entry&gt;
+ * &lt;/launch4jManifest&gt;
+ * </pre>
+ *
+ * The manifest is parsed as a stream and each entry is built by a {@link BatchBuilder} as soon as it is read, with at
+ * most the given number of builds in flight, so memory use doesn't depend on the number of entries. Entry paths are
+ * relative to the manifest, the base configuration's paths are relative to the base configuration. The base
+ * configuration cannot have variants, since they replace the output file.
+ */
+public class ManifestBuilder {
+    private static final String MANIFEST = "launch4jManifest";
+    private static final String ENTRY = "entry";
+
+    private final Log _log;
+    private final File _basedir;
+    private final int _threads;
+    private BuildListener _listener;
+    private boolean _stamped;
+    private boolean _fixedBase;
+    private List<File> _skipped = Collections.emptyList();
+
+    /**
+     * @param threads Maximum number of concurrent builds, or 0 to use the manifest's setting or the number of
+     *            processors.
+     */
+    public ManifestBuilder(Log log, int threads) {
+        this(log, Util.getJarBasedir(), threads);
+    }
+
+    public ManifestBuilder(Log log, File basedir, int threads) {
+        _log = log;
+        _basedir = basedir;
+        _threads = threads;
+    }
+
+    public void setBuildListener(BuildListener listener) {
+        _listener = listener;
+    }
+
+    /**
+     * Fails if the manifest names a base configuration, used when the current configuration was customized and must
+     * not be replaced.
+     */
+    public void setFixedBase(boolean fixedBase) {
+        _fixedBase = fixedBase;
+    }
+
+    /**
+     * Skips the entries whose outputs are up to date, see {@link BatchBuilder#setStamped(boolean)}.
+     */
+    public void setStamped(boolean stamped) {
+        _stamped = stamped;
+    }
+
+    /**
+     * @return Outputs of the entries skipped by the last build because they were up to date.
+     */
+    public List<File> getSkipped() {
+        return _skipped;
+    }
+
+    /**
+     * Builds all entries, a failed entry doesn't stop the others.
+     *
+     * @param manifest Manifest file, its base configuration replaces the current one if specified.
+     * @return Number of executables built.
+     * @throws BuilderException if the manifest is invalid or any of the entries failed.
+     */
+    public int build(File manifest) throws BuilderException {
+        InputStream is = null;
+        XMLStreamReader reader = null;
+        BatchBuilder batch = null;
+        _skipped = Collections.emptyList();
+        try {
+            is = new BufferedInputStream(new FileInputStream(manifest));
+            reader = XMLInputFactory.newInstance().createXMLStreamReader(is);
+            reader.nextTag();
+
+            if (!MANIFEST.equals(reader.getLocalName())) {
+                throw new BuilderException(Messages.getString("ManifestBuilder.element", reader.getLocalName()));
+            }
+
+            File dir = manifest.getAbsoluteFile().getParentFile();
+            String base = reader.getAttributeValue(null, "base");
+
+            if (base != null) {
+                if (_fixedBase) {
+                    throw new BuilderException(Messages.getString("ManifestBuilder.fixed.base", base));
+                }
+
+                ConfigPersister.getInstance().load(Util.getAbsoluteFile(dir, new File(base)));
+            }
+
+            Config baseConfig = ConfigPersister.getInstance().getConfig();
+
+            if (baseConfig == null) {
+                throw new BuilderException(Messages.getString("ManifestBuilder.base"));
+            }
+
+            // Variants replace the output file, so every entry would build the same executables
+            if (baseConfig.isVariants()) {
+                throw new BuilderException(Messages.getString("ManifestBuilder.variants"));
+            }
+
+            batch = new BatchBuilder(_log, _basedir, getThreads(reader.getAttributeValue(null, "threads")));
+            batch.setBuildListener(_listener);
+            batch.setStamped(_stamped);
+
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                if (!ENTRY.equals(reader.getLocalName())) {
+                    throw new BuilderException(Messages.getString("ManifestBuilder.element", reader.getLocalName()));
+                }
+
+                batch.submit(readEntry(reader, baseConfig, dir));
+            }
+        } catch (XMLStreamException e) {
+            throw new BuilderException(e);
+        } catch (IOException e) {
+            throw new BuilderException(e);
+        } catch (ConfigPersisterException e) {
+            throw new BuilderException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BuilderException(e);
+        } finally {
+            close(reader);
+            Util.close(is);
+
+            if (batch != null) {
+                batch.await();
+                _skipped = batch.getSkipped();
+            }
+        }
+
+        List<String> failures = batch.await();
+
+        if (!failures.isEmpty()) {
+            throw new BuilderException(Messages.getString("ManifestBuilder.failed", String.valueOf(failures.size()),
+                    String.valueOf(batch.getSubmitted())));
+        }
+
+        _log.append(Messages.getString("ManifestBuilder.built", String.valueOf(batch.getSubmitted())));
+        return batch.getSubmitted();
+    }
+
+    private int getThreads(String threads) throws BuilderException {
+        if (_threads > 0) {
+            return _threads;
+        }
+
+        if (threads == null) {
+            return 0;
+        }
+
+        try {
+            return Math.max(1, Integer.parseInt(threads));
+        } catch (NumberFormatException e) {
+            throw new BuilderException(Messages.getString("ManifestBuilder.threads", threads));
+        }
+    }
+
+    /**
+     * Reads an entry, leaving the reader at its end tag.
+     */
+    private Config readEntry(XMLStreamReader reader, Config base, File dir)
+            throws XMLStreamException, BuilderException {
+        Config c = base.copy();
+        VersionInfo versions = new VersionInfo();
+        boolean versioned = false;
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            String value = reader.getElementText().trim();
+
+            if (name.equals("jar")) {
+                c.setJar(Util.getAbsoluteFile(dir, new File(value)));
+            } else if (name.equals("outfile")) {
+                c.setOutfile(Util.getAbsoluteFile(dir, new File(value)));
+            } else if (name.equals("fileVersion")) {
+                versions.setFileVersion(value);
+                versioned = true;
+            } else if (name.equals("txtFileVersion")) {
+                versions.setTxtFileVersion(value);
+                versioned = true;
+            } else if (name.equals("productVersion")) {
+                versions.setProductVersion(value);
+                versioned = true;
+            } else if (name.equals("txtProductVersion")) {
+                versions.setTxtProductVersion(value);
+                versioned = true;
+            } else {
+                throw new BuilderException(Messages.getString("ManifestBuilder.element", name));
+            }
+        }
+
+        if (c.getOutfile() == null || c.getOutfile() == base.getOutfile()) {
+            throw new BuilderException(Messages.getString("ManifestBuilder.outfile"));
+        }
+
+        if (versioned) {
+            c.setVersionInfo(base.getVersionInfo() != null ? base.getVersionInfo().merge(versions) : versions);
+        }
+
+        return c;
+    }
+
+    private void close(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // ignore
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * File channel that serves reads from a memory mapping of the file, which makes hashing large executables cheaper
+ * than copying them through small read buffers. Writes go through the file channel and drop the mapping, it's
+ * recreated on the next read. Mapped files cannot be truncated on Windows until the mapping is garbage collected,
+ * so the file is read through the channel there.
+ */
+public class MappedFileChannel implements SeekableByteChannel {
+    private final RandomAccessFile _file;
+    private final FileChannel _channel;
+    private final boolean _mapped;
+    private MappedByteBuffer _map;
+    private long _position;
+
+    public MappedFileChannel(File f) throws IOException {
+        _file = new RandomAccessFile(f, "rw");
+        _channel = _file.getChannel();
+        _mapped = !Util.WINDOWS_OS;
+    }
+
+    public int read(ByteBuffer dst) throws IOException {
+        checkOpen();
+        long size = _channel.size();
+
+        if (_position >= size) {
+            return -1;
+        }
+
+        if (_mapped && _map == null && size <= Integer.MAX_VALUE) {
+            _map = _channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        if (_map == null || _position >= _map.capacity()) {
+            int n = _channel.read(dst, _position);
+
+            if (n > 0) {
+                _position += n;
+            }
+
+            return n;
+        }
+
+        ByteBuffer src = _map.duplicate();
+        int n = (int) Math.min(dst.remaining(), src.capacity() - _position);
+        src.position((int) _position);
+        src.limit((int) _position + n);
+        dst.put(src);
+        _position += n;
+        return n;
+    }
+
+    public int write(ByteBuffer src) throws IOException {
+        checkOpen();
+        _map = null;
+        int n = _channel.write(src, _position);
+        _position += n;
+        return n;
+    }
+
+    public long position() throws IOException {
+        checkOpen();
+        return _position;
+    }
+
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        checkOpen();
+        _position = newPosition;
+        return this;
+    }
+
+    public long size() throws IOException {
+        return _channel.size();
+    }
+
+    public SeekableByteChannel truncate(long size) throws IOException {
+        checkOpen();
+        _map = null;
+        _channel.truncate(size);
+        _position = Math.min(_position, size);
+        return this;
+    }
+
+    public boolean isOpen() {
+        return _channel.isOpen();
+    }
+
+    public void close() throws IOException {
+        _map = null;
+        _file.close();
+    }
+
+    private void checkOpen() throws IOException {
+        if (!_channel.isOpen()) {
+            throw new ClosedChannelException();
+        }
+    }
+}
@@ -44,6 +44,7 @@ import java.io.OutputStreamWriter;
 import java.util.List;
 
 import net.sf.launch4j.config.CharsetID;
+import net.sf.launch4j.config.ClassPath;
 import net.sf.launch4j.config.Config;
 import net.sf.launch4j.config.ConfigPersister;
 import net.sf.launch4j.config.Jre;
@@ -110,6 +111,39 @@ public class RcBuilder {
     public static final int INSTANCE_ALREADY_EXISTS_MSG = 105;
 
     private final StringBuffer _sb = new StringBuffer();
+    private ClassPath _classPath;
+    private File _icon;
+    private File _splashBitmap;
+
+    /**
+     * Overrides the configured runtime classpath, used when classpath jars are merged into the wrapped jar.
+     */
+    public void setClassPath(ClassPath classPath) {
+        _classPath = classPath;
+    }
+
+    /**
+     * Overrides the configured icon, used when images are optimized.
+     */
+    public void setIcon(File icon) {
+        _icon = icon;
+    }
+
+    /**
+     * Overrides the configured splash screen bitmap, used when images are optimized.
+     */
+    public void setSplashBitmap(File splashBitmap) {
+        _splashBitmap = splashBitmap;
+    }
+
+    /**
+     * Copies the overrides of another builder, used when the resources of several variants are built.
+     */
+    public void setOverrides(RcBuilder rcb) {
+        _classPath = rcb._classPath;
+        _icon = rcb._icon;
+        _splashBitmap = rcb._splashBitmap;
+    }
 
     public String getContent() {
         return _sb.toString();
@@ -125,10 +159,28 @@ public class RcBuilder {
         _sb.append(", ");
         _sb.append(SUBLANG_DEFAULT);
         _sb.append('\n');
+        addResources(c);
+
+        File file = Util.createTempFile("rc");
+
+        if ("MS932".equals(System.getProperty("file.encoding"))) {
+            writeKanjiResourceFile(file);
+        } else {
+            writeResourceFile(file);
+        }
+
+        return file;
+    }
+
+    /**
+     * Adds all resources of the configuration through the protected add methods,
+     * which subclasses override to emit the resources in another format.
+     */
+    protected void addResources(Config c) throws IOException {
         addVersionInfo(c.getVersionInfo());
         addJre(c.getJre());
         addManifest(MANIFEST, c.getManifest());
-        addIcon(APP_ICON, c.getIcon());
+        addIcon(APP_ICON, _icon != null ? _icon : c.getIcon());
         addText(ERR_TITLE, c.getErrTitle());
         addText(DOWNLOAD_URL, c.getDownloadUrl());
         addText(SUPPORT_URL, c.getSupportUrl());
@@ -155,24 +207,16 @@ public class RcBuilder {
         // MAIN_CLASS / JAR
         addTrue(WRAPPER, !c.isDontWrapJar());
 
-        if (c.getClassPath() != null) {
-            addText(MAIN_CLASS, c.getClassPath().getMainClass());
-            addWindowsPath(CLASSPATH, c.getClassPath().getPathsString());
+        ClassPath classPath = _classPath != null ? _classPath : c.getClassPath();
+
+        if (classPath != null) {
+            addText(MAIN_CLASS, classPath.getMainClass());
+            addWindowsPath(CLASSPATH, classPath.getPathsString());
         }
 
         if (c.isDontWrapJar() && c.getJar() != null) {
             addWindowsPath(JAR, c.getJar().getPath());
         }
-
-        File file = Util.createTempFile("rc");
-
-        if ("MS932".equals(System.getProperty("file.encoding"))) {
-            writeKanjiResourceFile(file);
-        } else {
-            writeResourceFile(file);
-        }
-
-        return file;
     }
 
     private void writeResourceFile(File file) throws IOException {
@@ -215,7 +259,7 @@ public class RcBuilder {
         }
     }
 
-    private void addVersionInfo(VersionInfo v) {
+    protected void addVersionInfo(VersionInfo v) {
         if (v == null) {
             return;
         }
@@ -266,7 +310,7 @@ public class RcBuilder {
         addText(JVM_OPTIONS, options.toString());
     }
 
-    private void addSplash(Splash splash) {
+    private void addSplash(Splash splash) throws IOException {
         if (splash == null) {
             return;
         }
@@ -275,7 +319,7 @@ public class RcBuilder {
         addTrue(SPLASH_WAITS_FOR_WINDOW, splash.getWaitForWindow());
         addText(SPLASH_TIMEOUT, String.valueOf(splash.getTimeout()));
         addTrue(SPLASH_TIMEOUT_ERR, splash.isTimeoutErr());
-        addBitmap(SPLASH_BITMAP, splash.getFile());
+        addBitmap(SPLASH_BITMAP, _splashBitmap != null ? _splashBitmap : splash.getFile());
     }
 
     private void addMessages(Config c) {
@@ -305,7 +349,7 @@ public class RcBuilder {
         }
     }
 
-    private void addText(int id, String text) {
+    protected void addText(int id, String text) {
         if (text == null || text.equals("")) {
             return;
         }
@@ -331,7 +375,7 @@ public class RcBuilder {
     /**
      * Stores path in Windows format with '\' separators.
      */
-    private void addWindowsPath(int id, String path) {
+    protected void addWindowsPath(int id, String path) {
         if (path == null || path.equals("")) {
             return;
         }
@@ -342,7 +386,7 @@ public class RcBuilder {
         _sb.append("\\0\" END\n");
     }
 
-    private void addManifest(int id, File manifest) {
+    protected void addManifest(int id, File manifest) throws IOException {
         if (manifest == null || manifest.getPath().equals("")) {
             return;
         }
@@ -353,7 +397,7 @@ public class RcBuilder {
         _sb.append("\"\n");
     }
 
-    private void addIcon(int id, File icon) {
+    protected void addIcon(int id, File icon) throws IOException {
         if (icon == null || icon.getPath().equals("")) {
             return;
         }
@@ -364,7 +408,7 @@ public class RcBuilder {
         _sb.append("\"\n");
     }
 
-    private void addBitmap(int id, File bitmap) {
+    protected void addBitmap(int id, File bitmap) throws IOException {
         if (bitmap == null) {
             return;
         }
@@ -0,0 +1,301 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+import net.sf.launch4j.config.CharsetID;
+import net.sf.launch4j.config.Config;
+import net.sf.launch4j.config.ConfigPersister;
+import net.sf.launch4j.config.VersionInfo;
+import net.sf.launch4j.pe.PeResource;
+import net.sf.launch4j.pe.ResourceTable;
+
+/**
+ * Compiles the resources of a configuration directly into their binary form, the same
+ * data windres produces from the script written by {@link RcBuilder}.
+ */
+public class ResourceBuilder extends RcBuilder {
+    private static final int LANGUAGE = SUBLANG_DEFAULT << 10 | LANG_NEUTRAL;
+    private static final int BITMAP_FILE_HEADER_SIZE = 14;
+    private static final int BITMAP_INFO_HEADER_SIZE = 40;
+    private static final int ICON_DIR_SIZE = 6;
+    private static final int ICON_DIR_ENTRY_SIZE = 16;
+    private static final int GROUP_ICON_ENTRY_SIZE = 14;
+
+    private final ResourceTable _resources = new ResourceTable();
+    private int _iconId = 1;
+
+    /**
+     * @return Resources ready to be written into a .rsrc section.
+     */
+    public ResourceTable buildResources(Config c) throws IOException {
+        addResources(c);
+        return _resources;
+    }
+
+    @Override
+    protected void addText(int id, String text) {
+        if (text == null || text.equals("")) {
+            return;
+        }
+
+        addData(id, text.replace("\n", "\r\n"));
+    }
+
+    @Override
+    protected void addWindowsPath(int id, String path) {
+        if (path == null || path.equals("")) {
+            return;
+        }
+
+        addData(id, path.replace('/', '\\'));
+    }
+
+    private void addData(int id, String text) {
+        String encoding = "MS932".equals(System.getProperty("file.encoding")) ? "MS932" : "ISO-8859-1";
+
+        try {
+            byte[] bytes = text.getBytes(encoding);
+            byte[] data = new byte[bytes.length + 1];
+            System.arraycopy(bytes, 0, data, 0, bytes.length);
+            _resources.put(PeResource.RT_RCDATA, id, LANGUAGE, data);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    protected void addManifest(int id, File manifest) throws IOException {
+        if (manifest == null || manifest.getPath().equals("")) {
+            return;
+        }
+
+        _resources.put(PeResource.RT_MANIFEST, id, LANGUAGE, read(manifest));
+    }
+
+    /**
+     * Splits the icon file into RT_ICON images and an RT_GROUP_ICON directory, taking
+     * the planes and bit count from the image header when the file leaves them empty.
+     */
+    @Override
+    protected void addIcon(int id, File icon) throws IOException {
+        if (icon == null || icon.getPath().equals("")) {
+            return;
+        }
+
+        ByteBuffer ico = ByteBuffer.wrap(read(icon)).order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            if (ico.getShort(0) != 0 || ico.getShort(2) != 1) {
+                throw new IOException(Messages.getString("ResourceBuilder.invalid.icon", icon.getPath()));
+            }
+
+            int count = ico.getShort(4) & 0xFFFF;
+            ByteBuffer group = ByteBuffer.allocate(ICON_DIR_SIZE + count * GROUP_ICON_ENTRY_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            group.putShort((short) 0);
+            group.putShort((short) 1);
+            group.putShort((short) count);
+
+            for (int i = 0; i < count; i++) {
+                int entry = ICON_DIR_SIZE + i * ICON_DIR_ENTRY_SIZE;
+                int size = ico.getInt(entry + 8);
+                int offset = ico.getInt(entry + 12);
+                byte[] image = new byte[size];
+                ((ByteBuffer) ico.duplicate().position(offset)).get(image);
+                int planes = ico.getShort(entry + 4);
+                int bitCount = ico.getShort(entry + 6);
+
+                if (planes == 0 && bitCount == 0 && size >= BITMAP_INFO_HEADER_SIZE
+                        && ico.getInt(offset) == BITMAP_INFO_HEADER_SIZE) {
+                    planes = ico.getShort(offset + 12);
+                    bitCount = ico.getShort(offset + 14);
+                }
+
+                group.put(ico.get(entry));         // width
+                group.put(ico.get(entry + 1));     // height
+                group.put(ico.get(entry + 2));     // color count
+                group.put((byte) 0);
+                group.putShort((short) planes);
+                group.putShort((short) bitCount);
+                group.putInt(size);
+                group.putShort((short) _iconId);
+                _resources.put(PeResource.RT_ICON, _iconId++, LANGUAGE, image);
+            }
+
+            _resources.put(PeResource.RT_GROUP_ICON, id, LANGUAGE, group.array());
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException(Messages.getString("ResourceBuilder.invalid.icon", icon.getPath()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(Messages.getString("ResourceBuilder.invalid.icon", icon.getPath()));
+        }
+    }
+
+    /**
+     * Stores the bitmap without the file header.
+     */
+    @Override
+    protected void addBitmap(int id, File bitmap) throws IOException {
+        if (bitmap == null) {
+            return;
+        }
+
+        byte[] bmp = read(bitmap);
+
+        if (bmp.length <= BITMAP_FILE_HEADER_SIZE || bmp[0] != 'B' || bmp[1] != 'M') {
+            throw new IOException(Messages.getString("ResourceBuilder.invalid.bitmap", bitmap.getPath()));
+        }
+
+        byte[] data = new byte[bmp.length - BITMAP_FILE_HEADER_SIZE];
+        System.arraycopy(bmp, BITMAP_FILE_HEADER_SIZE, data, 0, data.length);
+        _resources.put(PeResource.RT_BITMAP, id, LANGUAGE, data);
+    }
+
+    @Override
+    protected void addVersionInfo(VersionInfo v) {
+        if (v == null) {
+            return;
+        }
+
+        String translation = String.format("%04X%04X", v.getLanguage().getId(), CharsetID.MULTILINGUAL.getId());
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        addVerBlockValue(strings, "CompanyName", v.getCompanyName());
+        addVerBlockValue(strings, "FileDescription", v.getFileDescription());
+        addVerBlockValue(strings, "FileVersion", v.getTxtFileVersion());
+        addVerBlockValue(strings, "InternalName", v.getInternalName());
+        addVerBlockValue(strings, "LegalCopyright", v.getCopyright());
+        addVerBlockValue(strings, "LegalTrademarks", v.getTrademarks());
+        addVerBlockValue(strings, "OriginalFilename", v.getOriginalFilename());
+        addVerBlockValue(strings, "ProductName", v.getProductName());
+        addVerBlockValue(strings, "ProductVersion", v.getTxtProductVersion());
+
+        ByteBuffer var = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        var.putShort((short) v.getLanguage().getId());
+        var.putShort((short) CharsetID.MULTILINGUAL.getId());
+
+        ByteBuffer fixed = ByteBuffer.allocate(52).order(ByteOrder.LITTLE_ENDIAN);
+        fixed.putInt(0xFEEF04BD);       // signature
+        fixed.putInt(0x00010000);       // structure version
+        putVersion(fixed, v.getFileVersion());
+        putVersion(fixed, v.getProductVersion());
+        fixed.putInt(0);                // FILEFLAGSMASK
+        fixed.putInt(0);                // FILEFLAGS
+        fixed.putInt(0x40000);          // FILEOS
+        fixed.putInt(1);                // FILETYPE
+        fixed.putInt(0);                // FILESUBTYPE
+        fixed.putInt(0);                // date
+        fixed.putInt(0);
+
+        byte[] stringFileInfo = block("StringFileInfo", 0, 1, null, block(translation, 0, 1, null, strings.toByteArray()));
+        byte[] varFileInfo = block("VarFileInfo", 0, 1, null, block("Translation", 4, 0, var.array(), null));
+        ByteArrayOutputStream children = new ByteArrayOutputStream();
+        children.write(stringFileInfo, 0, stringFileInfo.length);
+        pad(children);
+        children.write(varFileInfo, 0, varFileInfo.length);
+        _resources.put(PeResource.RT_VERSION, 1, LANGUAGE,
+                block("VS_VERSION_INFO", fixed.capacity(), 0, fixed.array(), children.toByteArray()));
+    }
+
+    private void putVersion(ByteBuffer b, String version) {
+        String[] v = version.split("\\.");
+        b.putInt(Integer.parseInt(v[0]) << 16 | Integer.parseInt(v[1]));
+        b.putInt(Integer.parseInt(v[2]) << 16 | Integer.parseInt(v[3]));
+    }
+
+    private void addVerBlockValue(ByteArrayOutputStream strings, String key, String value) {
+        String s = value != null ? value.replace("\n", "\r\n") : "";
+        byte[] block = block(key, s.length() + 1, 1, utf16(s), null);
+        pad(strings);
+        strings.write(block, 0, block.length);
+    }
+
+    /**
+     * Version block: length, value length, type, key, value and the children,
+     * each aligned to 32 bits. The length doesn't include the padding after the last item.
+     */
+    private byte[] block(String key, int valueLength, int type, byte[] value, byte[] children) {
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        b.write(0);
+        b.write(0);
+        b.write(valueLength);
+        b.write(valueLength >> 8);
+        b.write(type);
+        b.write(type >> 8);
+        byte[] k = utf16(key);
+        b.write(k, 0, k.length);
+
+        if (value != null) {
+            pad(b);
+            b.write(value, 0, value.length);
+        }
+
+        if (children != null && children.length > 0) {
+            pad(b);
+            b.write(children, 0, children.length);
+        }
+
+        byte[] block = b.toByteArray();
+        block[0] = (byte) block.length;
+        block[1] = (byte) (block.length >> 8);
+        return block;
+    }
+
+    private void pad(ByteArrayOutputStream b) {
+        while (b.size() % 4 != 0) {
+            b.write(0);
+        }
+    }
+
+    private byte[] utf16(String s) {
+        try {
+            return (s + '\0').getBytes("UTF-16LE");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] read(File f) throws IOException {
+        return Files.readAllBytes(Util.getAbsoluteFile(ConfigPersister.getInstance().getConfigPath(), f).toPath());
+    }
+}
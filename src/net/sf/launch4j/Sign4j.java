@@ -0,0 +1,130 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Java port of sign4j. The signature appended to the executable would follow the zip end header of the wrapped jar,
+ * so the size of the signature is measured with a test signing and added to the zip comment length before the
+ * executable is signed again. Works in place and touches only the headers and the end of the file.
+ */
+public class Sign4j {
+    private static final int PE_SIGNATURE = 0x00004550;
+
+    private final Log _log;
+
+    public Sign4j(Log log) {
+        _log = log;
+    }
+
+    public void sign(File exe, ExeSigner signer) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(exe, "rw");
+        ZipEndHeader header;
+        ByteBuffer headers;
+        long len;
+
+        try {
+            FileChannel ch = raf.getChannel();
+            header = ZipEndHeader.find(ch);
+            len = ch.size();
+            headers = header != null ? ZipEndHeader.read(ch, 0, getSizeOfHeaders(ch)) : null;
+        } finally {
+            Util.close(raf);
+        }
+
+        if (header == null) {
+            signer.sign(exe);
+            return;
+        }
+
+        _log.append(Messages.getString("Sign4j.measuring"));
+        signer.sign(exe);
+        long growth = exe.length() - len;
+        long comment = header.getCommentLength() + growth;
+
+        if (growth <= 0) {
+            throw new IOException(Messages.getString("Sign4j.not.signed"));
+        }
+
+        if (comment > ZipEndHeader.MAX_COMMENT_SIZE) {
+            throw new IOException(Messages.getString("Sign4j.signature.too.large", String.valueOf(growth)));
+        }
+
+        raf = new RandomAccessFile(exe, "rw");
+
+        try {
+            FileChannel ch = raf.getChannel();
+            ch.truncate(len);
+            ZipEndHeader.write(ch, 0, headers);
+            ByteBuffer b = ZipEndHeader.read(ch, header.getCommentLengthPosition(), 2);
+            b.putShort(0, (short) comment);
+            ZipEndHeader.write(ch, header.getCommentLengthPosition(), b);
+        } finally {
+            Util.close(raf);
+        }
+
+        signer.sign(exe);
+
+        if (exe.length() != len + growth) {
+            _log.append(Messages.getString("Sign4j.size.changed"));
+        }
+    }
+
+    /**
+     * @return SizeOfHeaders field of the PE optional header.
+     */
+    static int getSizeOfHeaders(FileChannel ch) throws IOException {
+        int peOffset = ZipEndHeader.read(ch, 0x3C, 4).getInt(0);
+
+        if (peOffset <= 0 || ZipEndHeader.read(ch, peOffset, 4).getInt(0) != PE_SIGNATURE) {
+            throw new IOException(Messages.getString("Sign4j.not.pe"));
+        }
+
+        int size = ZipEndHeader.read(ch, peOffset + 24 + 60, 4).getInt(0);
+
+        if (size <= 0 || size > ch.size()) {
+            throw new IOException(Messages.getString("Sign4j.not.pe"));
+        }
+
+        return size;
+    }
+}
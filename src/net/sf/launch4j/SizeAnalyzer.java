@@ -0,0 +1,470 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import net.sf.launch4j.pe.PeImage;
+import net.sf.launch4j.pe.PeResource;
+import net.sf.launch4j.pe.PeSection;
+
+/**
+ * Breaks the size of an executable down into the headers, the sections of the header code, the resources by type
+ * and the wrapped jar by package. Only the image and the central directory are read, the file isn't mapped.
+ */
+public class SizeAnalyzer {
+    private static final String RESOURCE_SECTION = ".rsrc";
+
+    private final File _exe;
+    private long _size;
+    private long _headers;
+    private long _resources;
+    private long _resourceDirectory;
+    private long _jar;
+    private long _jarDirectory;
+    private long _signature;
+    private long _other;
+    private final List<Item> _sections = new ArrayList<Item>();
+    private final List<Item> _resourceTypes = new ArrayList<Item>();
+    private final List<Item> _packages = new ArrayList<Item>();
+
+    /**
+     * Size of a part of the executable, made of a number of entries.
+     */
+    public static class Item {
+        private final String _name;
+        private long _count;
+        private long _size;
+
+        Item(String name) {
+            _name = name;
+        }
+
+        public String getName() {
+            return _name;
+        }
+
+        public long getCount() {
+            return _count;
+        }
+
+        public long getSize() {
+            return _size;
+        }
+    }
+
+    public SizeAnalyzer(File exe) {
+        _exe = exe;
+    }
+
+    public SizeAnalyzer analyze() throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(_exe, "r");
+
+        try {
+            FileChannel ch = raf.getChannel();
+            _size = ch.size();
+            PeImage headers = new PeImage(read(ch, 0, (int) Math.min(_size, 64 * 1024)));
+            long overlay = headers.getSizeOfHeaders();
+
+            for (PeSection s : headers.getSections()) {
+                if (s.getSizeOfRawData() > 0) {
+                    overlay = Math.max(overlay, s.getPointerToRawData() + s.getSizeOfRawData());
+                }
+            }
+
+            overlay = Math.min(overlay, _size);
+            PeImage pe = new PeImage(read(ch, 0, (int) overlay));
+            _headers = pe.getSizeOfHeaders();
+            analyzeSections(pe);
+            analyzeOverlay(ch, pe, overlay);
+        } finally {
+            Util.close(raf);
+        }
+
+        return this;
+    }
+
+    private void analyzeSections(PeImage pe) throws IOException {
+        for (PeSection s : pe.getSections()) {
+            if (s.getSizeOfRawData() == 0) {
+                continue;
+            }
+
+            if (RESOURCE_SECTION.equals(s.getName())) {
+                _resources = s.getSizeOfRawData();
+            } else {
+                Item item = new Item(s.getName());
+                item._count = 1;
+                item._size = s.getSizeOfRawData();
+                _sections.add(item);
+            }
+        }
+
+        Map<String, Item> types = new LinkedHashMap<String, Item>();
+        long data = 0;
+
+        for (PeResource r : pe.getResources()) {
+            String name = getTypeName(r);
+            Item item = types.get(name);
+
+            if (item == null) {
+                item = new Item(name);
+                types.put(name, item);
+            }
+
+            item._count++;
+            item._size += r.getSize();
+            data += r.getSize();
+        }
+
+        _resourceTypes.addAll(types.values());
+        sort(_resourceTypes);
+        _resourceDirectory = Math.max(0, _resources - data);
+    }
+
+    private void analyzeOverlay(FileChannel ch, PeImage pe, long overlay) throws IOException {
+        long end = _size;
+        long certificates = pe.getDataDirectoryAddress(PeImage.CERTIFICATE_TABLE);
+
+        if (pe.getDataDirectorySize(PeImage.CERTIFICATE_TABLE) > 0 && certificates >= overlay) {
+            _signature = pe.getDataDirectorySize(PeImage.CERTIFICATE_TABLE);
+            end = certificates;
+        }
+
+        ZipEndHeader header = ZipEndHeader.find(ch);
+
+        if (header != null && header.getCentralDirectoryPosition() >= overlay
+                && header.getCentralDirectorySize() <= Integer.MAX_VALUE) {
+            analyzeJar(ch, header, overlay);
+            // A signature covered by the zip comment is counted once
+            end = Math.max(end, header.getPosition() + ZipEndHeader.SIZE + header.getCommentLength());
+        }
+
+        _other = Math.max(0, Math.min(end, _size) - overlay - _jar - _signature);
+    }
+
+    /**
+     * Each entry spans from its local header to the next one, which includes data descriptors.
+     */
+    private void analyzeJar(FileChannel ch, ZipEndHeader header, long overlay) throws IOException {
+        long position = header.getCentralDirectoryPosition();
+        int size = (int) header.getCentralDirectorySize();
+        ByteBuffer cd = read(ch, position, size);
+        List<long[]> offsets = new ArrayList<long[]>();
+        List<String> names = new ArrayList<String>();
+
+        for (int p = 0; ZipCentralHeader.isHeader(cd, p, size); p += ZipCentralHeader.getLength(cd, p)) {
+            long offset = ZipCentralHeader.getOffset(cd, p);
+
+            if (offset != -1) {
+                offsets.add(new long[] { offset + header.getPrefixLength(), names.size() });
+                names.add(ZipCentralHeader.getName(cd, p));
+            }
+        }
+
+        Collections.sort(offsets, new Comparator<long[]>() {
+            public int compare(long[] a, long[] b) {
+                return a[0] < b[0] ? -1 : a[0] > b[0] ? 1 : 0;
+            }
+        });
+
+        Map<String, Item> packages = new HashMap<String, Item>();
+        long entries = 0;
+
+        for (int i = 0; i < offsets.size(); i++) {
+            long start = offsets.get(i)[0];
+            long next = i + 1 < offsets.size() ? offsets.get(i + 1)[0] : position;
+            String name = names.get((int) offsets.get(i)[1]);
+            int slash = name.lastIndexOf('/', name.endsWith("/") ? name.length() - 2 : name.length() - 1);
+            String pkg = slash != -1 ? name.substring(0, slash) : "(root)";
+            Item item = packages.get(pkg);
+
+            if (item == null) {
+                item = new Item(pkg);
+                packages.put(pkg, item);
+            }
+
+            item._count++;
+            item._size += Math.max(0, next - start);
+            entries += Math.max(0, next - start);
+        }
+
+        _packages.addAll(packages.values());
+        sort(_packages);
+        long jarStart = offsets.isEmpty() ? position : Math.max(overlay, offsets.get(0)[0]);
+        _jar = header.getPosition() + ZipEndHeader.SIZE - jarStart;
+        _jarDirectory = _jar - entries;
+    }
+
+    private static String getTypeName(PeResource r) {
+        switch (r.getType()) {
+        case PeResource.RT_ICON:
+            return "ICON";
+        case PeResource.RT_GROUP_ICON:
+            return "GROUP_ICON";
+        case PeResource.RT_BITMAP:
+            return "BITMAP";
+        case PeResource.RT_MANIFEST:
+            return "MANIFEST";
+        case PeResource.RT_VERSION:
+            return "VERSIONINFO";
+        case PeResource.RT_RCDATA:
+            return "RCDATA";
+        default:
+            return r.getType() != -1 ? String.valueOf(r.getType()) : r.getTypeName();
+        }
+    }
+
+    private static void sort(List<Item> items) {
+        Collections.sort(items, new Comparator<Item>() {
+            public int compare(Item a, Item b) {
+                return a._size > b._size ? -1 : a._size < b._size ? 1 : a._name.compareTo(b._name);
+            }
+        });
+    }
+
+    private static ByteBuffer read(FileChannel ch, long position, int len) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(len).order(ByteOrder.LITTLE_ENDIAN);
+
+        while (b.hasRemaining()) {
+            if (ch.read(b, position + b.position()) < 0) {
+                break;
+            }
+        }
+
+        b.flip();
+        return b;
+    }
+
+    public File getFile() {
+        return _exe;
+    }
+
+    public long getSize() {
+        return _size;
+    }
+
+    public long getHeadersSize() {
+        return _headers;
+    }
+
+    /**
+     * @return Sections of the header code, without the resources.
+     */
+    public List<Item> getSections() {
+        return _sections;
+    }
+
+    public long getResourcesSize() {
+        return _resources;
+    }
+
+    /**
+     * @return Directory tables and alignment of the resource section.
+     */
+    public long getResourceDirectorySize() {
+        return _resourceDirectory;
+    }
+
+    public List<Item> getResourceTypes() {
+        return _resourceTypes;
+    }
+
+    public long getJarSize() {
+        return _jar;
+    }
+
+    /**
+     * @return Central directory and end records of the jar.
+     */
+    public long getJarDirectorySize() {
+        return _jarDirectory;
+    }
+
+    /**
+     * @return Jar entries by directory, largest first.
+     */
+    public List<Item> getPackages() {
+        return _packages;
+    }
+
+    public long getSignatureSize() {
+        return _signature;
+    }
+
+    /**
+     * @return Overlay data that is neither the jar nor the signature.
+     */
+    public long getOtherSize() {
+        return _other;
+    }
+
+    public void writeJson(File file) throws IOException {
+        Writer w = open(file);
+
+        try {
+            w.write("{\n");
+            w.write("  \"file\": " + quote(_exe.getName()) + ",\n");
+            w.write("  \"size\": " + _size + ",\n");
+            w.write("  \"headers\": " + _headers + ",\n");
+            w.write("  \"sections\": ");
+            writeJson(w, _sections, "name", "  ");
+            w.write(",\n  \"resources\": {\n    \"size\": " + _resources + ",\n    \"directory\": "
+                    + _resourceDirectory + ",\n    \"types\": ");
+            writeJson(w, _resourceTypes, "type", "    ");
+            w.write("\n  },\n  \"jar\": {\n    \"size\": " + _jar + ",\n    \"directory\": " + _jarDirectory
+                    + ",\n    \"packages\": ");
+            writeJson(w, _packages, "name", "    ");
+            w.write("\n  },\n");
+            w.write("  \"signature\": " + _signature + ",\n");
+            w.write("  \"other\": " + _other + "\n");
+            w.write("}\n");
+        } finally {
+            Util.close(w);
+        }
+    }
+
+    private void writeJson(Writer w, List<Item> items, String key, String indent) throws IOException {
+        w.write("[");
+
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            w.write(i == 0 ? "\n" : ",\n");
+            w.write(indent + "  { \"" + key + "\": " + quote(item._name) + ", \"count\": " + item._count + ", \"size\": "
+                    + item._size + " }");
+        }
+
+        w.write(items.isEmpty() ? "]" : "\n" + indent + "]");
+    }
+
+    public void writeHtml(File file) throws IOException {
+        Writer w = open(file);
+
+        try {
+            w.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n<title>" + escape(_exe.getName())
+                    + "</title>\n<style>\nbody { font-family: sans-serif; }\n"
+                    + "td { padding: 2px 8px; }\ntd.size { text-align: right; }\n"
+                    + "div.bar { background: #48c; height: 10px; }\n</style>\n</head>\n<body>\n");
+            w.write("<h1>" + escape(_exe.getName()) + ": " + _size + " bytes</h1>\n");
+            List<Item> summary = new ArrayList<Item>();
+            summary.add(item("Headers", 1, _headers));
+            long code = 0;
+
+            for (Item s : _sections) {
+                code += s._size;
+            }
+
+            summary.add(item("Header code", _sections.size(), code));
+            summary.add(item("Resources", _resourceTypes.size(), _resources));
+            summary.add(item("Jar", _packages.size(), _jar));
+            summary.add(item("Signature", _signature > 0 ? 1 : 0, _signature));
+            summary.add(item("Other", 0, _other));
+            writeHtml(w, "Summary", summary);
+            writeHtml(w, "Header code", _sections);
+            List<Item> resources = new ArrayList<Item>(_resourceTypes);
+            resources.add(item("Directory", 1, _resourceDirectory));
+            writeHtml(w, "Resources", resources);
+            List<Item> packages = new ArrayList<Item>(_packages);
+            packages.add(item("Central directory", 1, _jarDirectory));
+            writeHtml(w, "Jar", packages);
+            w.write("</body>\n</html>\n");
+        } finally {
+            Util.close(w);
+        }
+    }
+
+    private void writeHtml(Writer w, String title, List<Item> items) throws IOException {
+        w.write("<h2>" + escape(title) + "</h2>\n<table>\n");
+
+        for (Item item : items) {
+            int width = _size > 0 ? (int) (item._size * 400 / _size) : 0;
+            w.write("<tr><td>" + escape(item._name) + "</td><td class=\"size\">" + item._count
+                    + "</td><td class=\"size\">" + item._size + "</td><td class=\"size\">"
+                    + String.format(Locale.US, "%.1f%%", _size > 0 ? item._size * 100.0 / _size : 0.0)
+                    + "</td><td><div class=\"bar\" style=\"width: " + width + "px\"></div></td></tr>\n");
+        }
+
+        w.write("</table>\n");
+    }
+
+    private Item item(String name, long count, long size) {
+        Item item = new Item(name);
+        item._count = count;
+        item._size = size;
+        return item;
+    }
+
+    private Writer open(File file) throws IOException {
+        return new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+
+        return sb.append('"').toString();
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -37,6 +37,7 @@
 package net.sf.launch4j;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -46,6 +47,7 @@ import java.io.Reader;
 import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collection;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -105,6 +107,25 @@ public class Util {
         return f.isAbsolute() ? f : new File(basepath, f.getPath());
     }
 
+    /**
+     * @return Subdirectory of launch4j.cachedir or ~/.launch4j/cache, not necessarily existing.
+     */
+    public static File getCacheDir(String name) {
+        String path = System.getProperty("launch4j.cachedir");
+        File cache = path != null ? new File(path) : new File(System.getProperty("user.home"), ".launch4j/cache");
+        return new File(cache, name);
+    }
+
+    public static String toHex(byte[] data) {
+        StringBuilder sb = new StringBuilder();
+
+        for (byte b : data) {
+            sb.append(String.format("%02x", b & 0xFF));
+        }
+
+        return sb.toString();
+    }
+
     public static String getExtension(File f) {
         String name = f.getName();
         int x = name.lastIndexOf('.');
@@ -116,14 +137,25 @@ public class Util {
     }
 
     public static void exec(String[] cmd, Log log) throws ExecException {
+        exec(cmd, log, null);
+    }
+
+    /**
+     * @param running Holds the process while it runs, so that another thread can destroy it, may be null.
+     */
+    public static void exec(String[] cmd, Log log, Collection<Process> running) throws ExecException {
         BufferedReader is = null;
+        Process p = null;
         try {
             if (WINDOWS_OS) {
                 for (int i = 0; i < cmd.length; i++) {
                     cmd[i] = cmd[i].replaceAll("/", "\\\\");
                 }
             }
-            Process p = Runtime.getRuntime().exec(cmd);
+            p = Runtime.getRuntime().exec(cmd);
+            if (running != null) {
+                running.add(p);
+            }
             is = new BufferedReader(new InputStreamReader(p.getErrorStream()));
             String line;
             int errLine = -1;
@@ -157,6 +189,10 @@ public class Util {
         } catch (InterruptedException e) {
             close(is);
             throw new ExecException(e);
+        } finally {
+            if (running != null && p != null) {
+                running.remove(p);
+            }
         }
     }
 
@@ -210,6 +246,16 @@ public class Util {
         }
     }
 
+    public static void close(final Closeable o) {
+        if (o != null) {
+            try {
+                o.close();
+            } catch (IOException e) {
+                System.err.println(e); // XXX log
+            }
+        }
+    }
+
     public static boolean delete(File f) {
         return (f != null) ? f.delete() : false;
     }
@@ -0,0 +1,146 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+/**
+ * Central directory file headers of a zip archive, read from a buffer holding the central directory. The local header
+ * offset is read from and written to the Zip64 extra field when the header points to it.
+ */
+class ZipCentralHeader {
+    static final int SIGNATURE = 0x02014b50;
+    static final int SIZE = 46;
+
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private ZipCentralHeader() {
+    }
+
+    /**
+     * @return true if a complete header starts at position p of a central directory of the given size.
+     */
+    static boolean isHeader(ByteBuffer cd, int p, long size) {
+        return p + SIZE <= size && cd.getInt(p) == SIGNATURE;
+    }
+
+    /**
+     * @return Length of the header at p, including the name, extra field and comment.
+     */
+    static int getLength(ByteBuffer cd, int p) {
+        return SIZE + getNameLength(cd, p) + getExtraLength(cd, p) + (cd.getShort(p + 32) & 0xFFFF);
+    }
+
+    static String getName(ByteBuffer cd, int p) throws UnsupportedEncodingException {
+        byte[] name = new byte[getNameLength(cd, p)];
+        ((ByteBuffer) cd.duplicate().position(p + SIZE)).get(name);
+        return new String(name, "UTF-8");
+    }
+
+    /**
+     * @return Offset of the local header, or -1 if the header points to a missing Zip64 extra field.
+     */
+    static long getOffset(ByteBuffer cd, int p) {
+        long offset = cd.getInt(p + 42) & 0xFFFFFFFFL;
+
+        if (offset != ZIP64_MAGIC) {
+            return offset;
+        }
+
+        int field = getZip64OffsetPosition(cd, p);
+        return field != -1 ? cd.getLong(field) : -1;
+    }
+
+    /**
+     * Sets the offset of the local header, in the Zip64 extra field if the header points to it. The offset must
+     * have been read with {@link #getOffset(ByteBuffer, int)}.
+     */
+    static void setOffset(ByteBuffer cd, int p, long offset) throws IOException {
+        if ((cd.getInt(p + 42) & 0xFFFFFFFFL) == ZIP64_MAGIC) {
+            cd.putLong(getZip64OffsetPosition(cd, p), offset);
+        } else if (offset >= ZIP64_MAGIC) {
+            throw new IOException(Messages.getString("ZipEndHeader.offset.overflow"));
+        } else {
+            cd.putInt(p + 42, (int) offset);
+        }
+    }
+
+    /**
+     * The fields of the Zip64 extra field are present only if the corresponding header field is set to 0xFFFFFFFF,
+     * the uncompressed and compressed sizes precede the offset.
+     *
+     * @return Position of the offset in the Zip64 extra field or -1.
+     */
+    private static int getZip64OffsetPosition(ByteBuffer cd, int header) {
+        int extra = header + SIZE + getNameLength(cd, header);
+        int end = extra + getExtraLength(cd, header);
+
+        for (int p = extra; p + 4 <= end;) {
+            int id = cd.getShort(p) & 0xFFFF;
+            int len = cd.getShort(p + 2) & 0xFFFF;
+
+            if (id == ZIP64_EXTRA_ID) {
+                int field = p + 4;
+
+                if ((cd.getInt(header + 24) & 0xFFFFFFFFL) == ZIP64_MAGIC) {
+                    field += 8;
+                }
+
+                if ((cd.getInt(header + 20) & 0xFFFFFFFFL) == ZIP64_MAGIC) {
+                    field += 8;
+                }
+
+                return field + 8 <= p + 4 + len ? field : -1;
+            }
+
+            p += 4 + len;
+        }
+
+        return -1;
+    }
+
+    private static int getNameLength(ByteBuffer cd, int p) {
+        return cd.getShort(p + 28) & 0xFFFF;
+    }
+
+    private static int getExtraLength(ByteBuffer cd, int p) {
+        return cd.getShort(p + 30) & 0xFFFF;
+    }
+}
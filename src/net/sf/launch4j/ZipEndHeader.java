@@ -0,0 +1,284 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * End of central directory record of a zip archive, possibly preceded by other data like the executable header.
+ * Zip64 archives are supported, the values of the Zip64 record take precedence.
+ */
+public class ZipEndHeader {
+    public static final int SIGNATURE = 0x06054b50;
+    public static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    public static final int ZIP64_RECORD_SIGNATURE = 0x06064b50;
+    public static final int SIZE = 22;
+    public static final int ZIP64_LOCATOR_SIZE = 20;
+    public static final int ZIP64_RECORD_SIZE = 56;
+    public static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final int ZIP64_MAGIC = 0xFFFFFFFF;
+
+    private long _position;
+    private int _commentLength;
+    private long _entries;
+    private long _centralDirectorySize;
+    private long _centralDirectoryOffset;
+    private long _zip64LocatorPosition = -1;
+    private long _zip64RecordPosition = -1;
+
+    private ZipEndHeader() {
+    }
+
+    /**
+     * Searches the last 64 KB of the file for the end header, which must be followed only by its comment.
+     *
+     * @return End header or null if the file doesn't end with a zip archive.
+     */
+    public static ZipEndHeader find(final FileChannel ch) throws IOException {
+        return find(new Source() {
+            public long size() throws IOException {
+                return ch.size();
+            }
+
+            public ByteBuffer read(long position, int len) throws IOException {
+                return ZipEndHeader.read(ch, position, len);
+            }
+        });
+    }
+
+    /**
+     * Searches a buffer holding the whole file, such as a memory mapped executable.
+     */
+    public static ZipEndHeader find(final ByteBuffer file) throws IOException {
+        return find(new Source() {
+            public long size() {
+                return file.limit();
+            }
+
+            public ByteBuffer read(long position, int len) throws IOException {
+                if (position < 0 || position + len > file.limit()) {
+                    throw new IOException(Messages.getString("ZipEndHeader.truncated"));
+                }
+
+                ByteBuffer b = file.duplicate();
+                b.position((int) position);
+                b.limit((int) position + len);
+                return b.slice().order(ByteOrder.LITTLE_ENDIAN);
+            }
+        });
+    }
+
+    private static ZipEndHeader find(Source src) throws IOException {
+        long size = src.size();
+        int len = (int) Math.min(size, SIZE + MAX_COMMENT_SIZE);
+
+        if (len < SIZE) {
+            return null;
+        }
+
+        ByteBuffer tail = src.read(size - len, len);
+
+        for (int p = len - SIZE; p >= 0; p--) {
+            if (tail.getInt(p) == SIGNATURE && (tail.getShort(p + 20) & 0xFFFF) == len - p - SIZE) {
+                ZipEndHeader header = new ZipEndHeader();
+                header._position = size - len + p;
+                header._commentLength = tail.getShort(p + 20) & 0xFFFF;
+                header._entries = tail.getShort(p + 10) & 0xFFFF;
+                header._centralDirectorySize = tail.getInt(p + 12) & 0xFFFFFFFFL;
+                header._centralDirectoryOffset = tail.getInt(p + 16) & 0xFFFFFFFFL;
+                header.readZip64(src);
+                return header;
+            }
+        }
+
+        return null;
+    }
+
+    private void readZip64(Source src) throws IOException {
+        long locator = _position - ZIP64_LOCATOR_SIZE;
+
+        if (locator < ZIP64_RECORD_SIZE) {
+            return;
+        }
+
+        ByteBuffer b = src.read(locator, ZIP64_LOCATOR_SIZE);
+
+        if (b.getInt(0) != ZIP64_LOCATOR_SIGNATURE) {
+            return;
+        }
+
+        _zip64LocatorPosition = locator;
+
+        // The record usually precedes the locator, its recorded offset doesn't account for data preceding the archive
+        long record = locator - ZIP64_RECORD_SIZE;
+        ByteBuffer r = src.read(record, ZIP64_RECORD_SIZE);
+
+        if (r.getInt(0) != ZIP64_RECORD_SIGNATURE) {
+            record = b.getLong(8);
+            r = src.read(record, ZIP64_RECORD_SIZE);
+
+            if (r.getInt(0) != ZIP64_RECORD_SIGNATURE) {
+                throw new IOException(Messages.getString("ZipEndHeader.zip64.record"));
+            }
+        }
+
+        _zip64RecordPosition = record;
+        _entries = r.getLong(32);
+        _centralDirectorySize = r.getLong(40);
+        _centralDirectoryOffset = r.getLong(48);
+    }
+
+    static ByteBuffer read(FileChannel ch, long position, int len) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(len).order(ByteOrder.LITTLE_ENDIAN);
+
+        while (b.hasRemaining()) {
+            if (ch.read(b, position + b.position()) == -1) {
+                throw new IOException(Messages.getString("ZipEndHeader.truncated"));
+            }
+        }
+
+        b.flip();
+        return b;
+    }
+
+    static void write(FileChannel ch, long position, ByteBuffer b) throws IOException {
+        b.rewind();
+
+        while (b.hasRemaining()) {
+            ch.write(b, position + b.position());
+        }
+    }
+
+    /**
+     * File position of the end header.
+     */
+    public long getPosition() {
+        return _position;
+    }
+
+    /**
+     * File position of the two byte comment length, which is the last field before the comment.
+     */
+    public long getCommentLengthPosition() {
+        return _position + SIZE - 2;
+    }
+
+    public int getCommentLength() {
+        return _commentLength;
+    }
+
+    public long getEntries() {
+        return _entries;
+    }
+
+    public long getCentralDirectorySize() {
+        return _centralDirectorySize;
+    }
+
+    /**
+     * Central directory offset as recorded in the archive.
+     */
+    public long getCentralDirectoryOffset() {
+        return _centralDirectoryOffset;
+    }
+
+    /**
+     * Actual file position of the central directory, which directly precedes the end records.
+     */
+    public long getCentralDirectoryPosition() {
+        return (isZip64() ? _zip64RecordPosition : _position) - _centralDirectorySize;
+    }
+
+    /**
+     * Length of the data preceding the archive that is not accounted for by the recorded offsets.
+     */
+    public long getPrefixLength() {
+        return getCentralDirectoryPosition() - _centralDirectoryOffset;
+    }
+
+    public boolean isZip64() {
+        return _zip64RecordPosition != -1;
+    }
+
+    public long getZip64LocatorPosition() {
+        return _zip64LocatorPosition;
+    }
+
+    public long getZip64RecordPosition() {
+        return _zip64RecordPosition;
+    }
+
+    /**
+     * Adds delta to the central directory offset recorded in the end records.
+     */
+    void relocate(FileChannel ch, long delta) throws IOException {
+        long offset = _centralDirectoryOffset + delta;
+
+        if (isZip64()) {
+            ByteBuffer r = read(ch, _zip64RecordPosition, ZIP64_RECORD_SIZE);
+            r.putLong(48, offset);
+            write(ch, _zip64RecordPosition, r);
+
+            ByteBuffer l = read(ch, _zip64LocatorPosition, ZIP64_LOCATOR_SIZE);
+            l.putLong(8, _zip64RecordPosition);
+            write(ch, _zip64LocatorPosition, l);
+        }
+
+        ByteBuffer e = read(ch, _position, SIZE);
+
+        if (e.getInt(16) != ZIP64_MAGIC) {
+            if (offset >= 0xFFFFFFFFL) {
+                throw new IOException(Messages.getString("ZipEndHeader.offset.overflow"));
+            }
+
+            e.putInt(16, (int) offset);
+            write(ch, _position, e);
+        }
+
+        _centralDirectoryOffset = offset;
+    }
+
+    private interface Source {
+        long size() throws IOException;
+
+        ByteBuffer read(long position, int len) throws IOException;
+    }
+}
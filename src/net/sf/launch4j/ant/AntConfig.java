@@ -45,7 +45,9 @@ import org.apache.tools.ant.BuildException;
 import net.sf.launch4j.config.Config;
 import net.sf.launch4j.config.Msg;
 import net.sf.launch4j.config.SingleInstance;
+import net.sf.launch4j.config.SizeReport;
 import net.sf.launch4j.config.Splash;
+import net.sf.launch4j.config.Variant;
 import net.sf.launch4j.config.VersionInfo;
 
 /**
@@ -55,6 +57,7 @@ public class AntConfig extends Config {
     private final List<StringWrapper> wrappedHeaderObjects = new ArrayList<StringWrapper>();
     private final List<StringWrapper> wrappedLibs = new ArrayList<StringWrapper>();
     private final List<StringWrapper> wrappedVariables = new ArrayList<StringWrapper>();
+    private final List<Variant> variants = new ArrayList<Variant>();
 
     public void setJarPath(String path) {
         setJar(new File(path));
@@ -104,6 +107,20 @@ public class AntConfig extends Config {
         setMessages(messages);
     }
 
+    public void addSigning(AntSigning signing) {
+        checkNull(getSigning(), "signing");
+        setSigning(signing);
+    }
+
+    public void addSizeReport(SizeReport sizeReport) {
+        checkNull(getSizeReport(), "sizeReport");
+        setSizeReport(sizeReport);
+    }
+
+    public void addVariant(AntVariant variant) {
+        variants.add(variant);
+    }
+
     // __________________________________________________________________________________
 
     public void unwrap() {
@@ -118,6 +135,16 @@ public class AntConfig extends Config {
         if (getJre() != null) {
             ((AntJre) getJre()).unwrap();
         }
+
+        if (getSigning() != null) {
+            ((AntSigning) getSigning()).unwrap();
+        }
+
+        for (Variant v : variants) {
+            ((AntVariant) v).unwrap();
+        }
+
+        setVariants(variants.isEmpty() ? null : variants);
     }
 
     private void checkNull(Object o, String name) {
@@ -0,0 +1,101 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.ant;
+
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+
+import net.sf.launch4j.BuildListener;
+
+import org.apache.tools.ant.Project;
+
+/**
+ * Collects the build events and publishes them as Ant properties. Times of concurrent builds are summed up.
+ */
+class BuildMetrics implements BuildListener {
+    private final long _start = System.currentTimeMillis();
+    private final Map<String, Long> _phases = new TreeMap<String, Long>();
+    private final Map<String, Long> _processes = new TreeMap<String, Long>();
+    private long _size;
+    private int _count;
+
+    public void phaseStarted(String phase) {}
+
+    public synchronized void phaseFinished(String phase, long millis) {
+        add(_phases, phase, millis);
+    }
+
+    public synchronized void processFinished(String command, long millis) {
+        add(_processes, command, millis);
+    }
+
+    public synchronized void fileWritten(File file, long bytes) {
+        _size += bytes;
+        _count++;
+    }
+
+    /**
+     * Counts an executable which was up to date.
+     */
+    public synchronized void fileSkipped(File file) {
+        fileWritten(file, file.length());
+    }
+
+    /**
+     * Sets the properties which are not yet defined: prefix.build.millis, prefix.exe.size (total bytes),
+     * prefix.exe.count, prefix.phase.<i>name</i>.millis and prefix.process.<i>command</i>.millis.
+     */
+    public synchronized void publish(Project project, String prefix) {
+        project.setNewProperty(prefix + ".build.millis", String.valueOf(System.currentTimeMillis() - _start));
+        project.setNewProperty(prefix + ".exe.size", String.valueOf(_size));
+        project.setNewProperty(prefix + ".exe.count", String.valueOf(_count));
+
+        for (Map.Entry<String, Long> e : _phases.entrySet()) {
+            project.setNewProperty(prefix + ".phase." + e.getKey() + ".millis", e.getValue().toString());
+        }
+
+        for (Map.Entry<String, Long> e : _processes.entrySet()) {
+            project.setNewProperty(prefix + ".process." + e.getKey() + ".millis", e.getValue().toString());
+        }
+    }
+
+    private void add(Map<String, Long> map, String key, long millis) {
+        Long total = map.get(key);
+        map.put(key, Long.valueOf(total != null ? total.longValue() + millis : millis));
+    }
+}
@@ -37,16 +37,27 @@
 package net.sf.launch4j.ant;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import net.sf.launch4j.BatchBuilder;
+import net.sf.launch4j.BuildStamp;
 import net.sf.launch4j.Builder;
 import net.sf.launch4j.BuilderException;
 import net.sf.launch4j.Log;
+import net.sf.launch4j.ManifestBuilder;
+import net.sf.launch4j.Util;
 import net.sf.launch4j.config.Config;
 import net.sf.launch4j.config.ConfigPersister;
 import net.sf.launch4j.config.ConfigPersisterException;
 
 import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.DirectoryScanner;
 import org.apache.tools.ant.Task;
+import org.apache.tools.ant.types.FileSet;
+import org.apache.tools.ant.types.Mapper;
+import org.apache.tools.ant.util.FileNameMapper;
 
 /**
  * @author Copyright (C) 2005 Grzegorz Kowal
@@ -59,6 +70,18 @@ public class Launch4jTask extends Task {
     private File tmpdir; // launch4j.tmpdir
     private File bindir; // launch4j.bindir
 
+    private boolean patch;
+    private boolean force;
+    private File manifest;
+    private int threads;
+    private String propertyPrefix = "launch4j";
+    private BuildMetrics metrics;
+
+    // Build one executable per jar of the filesets
+    private final List<FileSet> filesets = new ArrayList<FileSet>();
+    private Mapper mapper;
+    private File todir;
+
     // Override configFile settings
     private File jar;
     private File outfile;
@@ -66,8 +89,10 @@ public class Launch4jTask extends Task {
     private String txtFileVersion;
     private String productVersion;
     private String txtProductVersion;
+    private AntSigning signing;
 
     public void execute() throws BuildException {
+        metrics = new BuildMetrics();
         try {
             if (tmpdir != null) {
                 System.setProperty("launch4j.tmpdir", tmpdir.getPath());
@@ -77,42 +102,170 @@ public class Launch4jTask extends Task {
             }
             if (_configFile != null && _config != null) {
                 throw new BuildException(Messages.getString("Launch4jTask.specify.config"));
+            } else if (manifest != null) {
+                if (_configFile != null) {
+                    if (outfile != null) {
+                        throw new BuildException(Messages.getString("Launch4jTask.manifest.outfile"));
+                    }
+                    ConfigPersister.getInstance().load(_configFile);
+                    applyOverrides(ConfigPersister.getInstance().getConfig());
+                } else if (_config != null) {
+                    _config.unwrap();
+                    ConfigPersister.getInstance().setAntConfig(_config, getProject().getBaseDir());
+                }
+                ManifestBuilder mb = new ManifestBuilder(Log.getAntLog(), threads);
+                mb.setBuildListener(metrics);
+                mb.setStamped(!force);
+                mb.setFixedBase(_configFile != null && isOverridden());
+                try {
+                    mb.build(manifest);
+                } finally {
+                    skipped(mb.getSkipped());
+                }
+                return;
             } else if (_configFile != null) {
                 ConfigPersister.getInstance().load(_configFile);
                 Config c = ConfigPersister.getInstance().getConfig();
-                if (jar != null) {
-                    c.setJar(jar);
-                }
                 if (outfile != null) {
                     c.setOutfile(outfile);
                 }
-                if (fileVersion != null) {
-                    c.getVersionInfo().setFileVersion(fileVersion);
-                }
-                if (txtFileVersion != null) {
-                    c.getVersionInfo().setTxtFileVersion(txtFileVersion);
-                }
-                if (productVersion != null) {
-                    c.getVersionInfo().setProductVersion(productVersion);
-                }
-                if (txtProductVersion != null) {
-                    c.getVersionInfo().setTxtProductVersion(txtProductVersion);
-                }
+                applyOverrides(c);
             } else if (_config != null) {
                 _config.unwrap();
                 ConfigPersister.getInstance().setAntConfig(_config, getProject().getBaseDir());
             } else {
                 throw new BuildException(Messages.getString("Launch4jTask.specify.config"));
             }
+            if (!filesets.isEmpty()) {
+                buildFilesets(ConfigPersister.getInstance().getConfig());
+                return;
+            }
+            BuildStamp stamp = force ? null : new BuildStamp(ConfigPersister.getInstance().getConfig());
+            if (stamp != null && stamp.isUpToDate()) {
+                Log.getAntLog().append(Messages.getString("Launch4jTask.up.to.date") + ": "
+                        + stamp.getOutfiles().get(0).getPath());
+                skipped(stamp.getOutfiles());
+                return;
+            }
             final Builder b = new Builder(Log.getAntLog());
-            b.build();
+            b.setBuildListener(metrics);
+            if (patch) {
+                b.patch();
+            } else {
+                b.build();
+            }
+            if (stamp != null) {
+                stamp.save();
+            }
+        } catch (IOException e) {
+            throw new BuildException(e);
         } catch (ConfigPersisterException e) {
             throw new BuildException(e);
         } catch (BuilderException e) {
             throw new BuildException(e);
+        } finally {
+            metrics.publish(getProject(), propertyPrefix);
         }
     }
 
+    /**
+     * Builds the jars of the filesets concurrently with copies of the configuration, failures are reported after all
+     * builds finished.
+     */
+    private void buildFilesets(Config template) {
+        // Variants replace the output file, so every jar would build the same executables
+        if (template.isVariants()) {
+            throw new BuildException(Messages.getString("Launch4jTask.fileset.variants"));
+        }
+
+        BatchBuilder batch = new BatchBuilder(Log.getAntLog(), Util.getJarBasedir(), threads);
+        batch.setBuildListener(metrics);
+        batch.setStamped(!force);
+        List<String> failures;
+        try {
+            for (FileSet fs : filesets) {
+                File dir = fs.getDir(getProject());
+                DirectoryScanner ds = fs.getDirectoryScanner(getProject());
+
+                for (String name : ds.getIncludedFiles()) {
+                    String exe = getOutfileName(name);
+
+                    if (exe != null) {
+                        Config c = template.copy();
+                        c.setJar(new File(dir, name));
+                        c.setOutfile(new File(todir != null ? todir : dir, exe));
+                        batch.submit(c);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BuildException(e);
+        } finally {
+            failures = batch.await();
+            skipped(batch.getSkipped());
+        }
+
+        if (!failures.isEmpty()) {
+            StringBuilder msg = new StringBuilder(Messages.getString("Launch4jTask.failed"));
+            msg.append(": ").append(failures.size()).append('/').append(batch.getSubmitted());
+
+            for (String failure : failures) {
+                msg.append('\n').append(failure);
+            }
+
+            throw new BuildException(msg.toString());
+        }
+    }
+
+    /**
+     * Applies the jar, version and signing attributes to the configuration file's settings.
+     */
+    private void applyOverrides(Config c) {
+        if (jar != null) {
+            c.setJar(jar);
+        }
+        if (fileVersion != null) {
+            c.getVersionInfo().setFileVersion(fileVersion);
+        }
+        if (txtFileVersion != null) {
+            c.getVersionInfo().setTxtFileVersion(txtFileVersion);
+        }
+        if (productVersion != null) {
+            c.getVersionInfo().setProductVersion(productVersion);
+        }
+        if (txtProductVersion != null) {
+            c.getVersionInfo().setTxtProductVersion(txtProductVersion);
+        }
+        if (signing != null) {
+            signing.unwrap();
+            c.setSigning(signing);
+        }
+    }
+
+    private boolean isOverridden() {
+        return jar != null || fileVersion != null || txtFileVersion != null || productVersion != null
+                || txtProductVersion != null || signing != null;
+    }
+
+    private void skipped(List<File> outfiles) {
+        for (File f : outfiles) {
+            metrics.fileSkipped(f);
+        }
+    }
+
+    /**
+     * @return Output file name mapped from the jar name, by default with the .exe extension, or null to skip the jar.
+     */
+    private String getOutfileName(String jar) {
+        if (mapper == null) {
+            return jar.replaceAll("(?i)\\.jar$", "") + ".exe";
+        }
+
+        String[] names = mapper.getImplementation().mapFileName(jar);
+        return names != null && names.length > 0 ? names[0] : null;
+    }
+
     public void setConfigFile(File configFile) {
         _configFile = configFile;
     }
@@ -121,6 +274,33 @@ public class Launch4jTask extends Task {
         _config = config;
     }
 
+    public void addSigning(AntSigning signing) {
+        this.signing = signing;
+    }
+
+    public void addFileset(FileSet fileset) {
+        filesets.add(fileset);
+    }
+
+    public Mapper createMapper() {
+        if (mapper != null) {
+            throw new BuildException(Messages.getString("Launch4jTask.duplicate.mapper"));
+        }
+        mapper = new Mapper(getProject());
+        return mapper;
+    }
+
+    public void add(FileNameMapper fileNameMapper) {
+        createMapper().add(fileNameMapper);
+    }
+
+    /**
+     * Output directory of the executables built from the filesets, by default the directory of each fileset.
+     */
+    public void setTodir(File todir) {
+        this.todir = todir;
+    }
+
     public void setBindir(File bindir) {
         this.bindir = bindir;
     }
@@ -129,6 +309,42 @@ public class Launch4jTask extends Task {
         this.tmpdir = tmpdir;
     }
 
+    /**
+     * Replaces only the resources of an existing output file, if possible.
+     */
+    public void setPatch(boolean patch) {
+        this.patch = patch;
+    }
+
+    /**
+     * Builds the executables listed in the manifest, the configuration is the base unless the manifest names one.
+     */
+    public void setManifest(File manifest) {
+        this.manifest = manifest;
+    }
+
+    /**
+     * Maximum number of concurrent manifest or fileset builds.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Builds even if the output is up to date. Manifest and fileset builds check each executable separately.
+     */
+    public void setForce(boolean force) {
+        this.force = force;
+    }
+
+    /**
+     * Prefix of the metrics properties set after the build, by default launch4j, e.g. launch4j.build.millis and
+     * launch4j.exe.size.
+     */
+    public void setPropertyPrefix(String propertyPrefix) {
+        this.propertyPrefix = propertyPrefix;
+    }
+
     public void setFileVersion(String fileVersion) {
         this.fileVersion = fileVersion;
     }
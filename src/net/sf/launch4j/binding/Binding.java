@@ -63,6 +63,9 @@ public interface Binding {
     /** Mark component as invalid */
     public void markInvalid();
 
+    /** Restore the look of a valid component without moving the focus */
+    public void clearMark();
+
     /** Enable or disable the component */
     public void setEnabled(boolean enabled);
 }
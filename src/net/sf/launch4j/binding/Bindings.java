@@ -40,8 +40,12 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.swing.JComboBox;
 import javax.swing.JComponent;
@@ -49,10 +53,10 @@ import javax.swing.JList;
 import javax.swing.JRadioButton;
 import javax.swing.JTextArea;
 import javax.swing.JToggleButton;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import javax.swing.text.JTextComponent;
 
-import org.apache.commons.beanutils.PropertyUtils;
-
 /**
  * Creates and handles bindings.
  * 
@@ -61,6 +65,11 @@ import org.apache.commons.beanutils.PropertyUtils;
 public class Bindings implements PropertyChangeListener, ActionListener {
     private final Map<String, Binding> _bindings = new HashMap<String, Binding>();
     private final Map<String, Binding> _optComponents = new HashMap<String, Binding>();
+    // Bound after the last clear or put
+    private final List<Binding> _newBindings = new ArrayList<Binding>();
+    private final List<Binding> _newOptComponents = new ArrayList<Binding>();
+    private final Set<Binding> _marked = new HashSet<Binding>();
+    private ChangeListener _changeListener;
     private boolean _modified = false;
 
     /**
@@ -71,13 +80,28 @@ public class Bindings implements PropertyChangeListener, ActionListener {
         String prop = evt.getPropertyName();
         if ("AccessibleValue".equals(prop) || "AccessibleText".equals(prop)
                 || ("AccessibleVisibleData".equals(prop) && evt.getSource().getClass().getName().contains("JList"))) {
-            _modified = true;
+            modified();
         }
     }
 
     @Override
     public void actionPerformed(ActionEvent e) {
+        modified();
+    }
+
+    private void modified() {
         _modified = true;
+
+        if (_changeListener != null) {
+            _changeListener.stateChanged(new ChangeEvent(this));
+        }
+    }
+
+    /**
+     * Notified when any of the components is modified.
+     */
+    public void setChangeListener(ChangeListener listener) {
+        _changeListener = listener;
     }
 
     /**
@@ -105,7 +129,7 @@ public class Bindings implements PropertyChangeListener, ActionListener {
         try {
             for (String property : _optComponents.keySet()) {
                 if (b.getProperty().startsWith(property)) {
-                    return PropertyUtils.getProperty(bean, property) == null;
+                    return PropertyAccessor.getProperty(bean, property) == null;
                 }
             }
 
@@ -138,6 +162,8 @@ public class Bindings implements PropertyChangeListener, ActionListener {
             b.clear(bean);
         }
 
+        _newOptComponents.clear();
+        _newBindings.clear();
         _modified = false;
     }
 
@@ -150,14 +176,48 @@ public class Bindings implements PropertyChangeListener, ActionListener {
         }
 
         for (Binding b : _bindings.values()) {
-            if (isPropertyNull(bean, b)) {
-                b.clear(null);
+            put(bean, b);
+        }
+
+        _newOptComponents.clear();
+        _newBindings.clear();
+        _modified = false;
+    }
+
+    private void put(IValidatable bean, Binding b) {
+        if (isPropertyNull(bean, b)) {
+            b.clear(null);
+        } else {
+            b.put(bean);
+        }
+    }
+
+    /**
+     * Clears or puts only the components bound after the last clear or put, e.g. those of a form created on demand.
+     * Keeps the _modified flag.
+     */
+    public void initNew(IValidatable bean, boolean clear) {
+        boolean modified = _modified;
+
+        for (Binding b : _newOptComponents) {
+            if (clear) {
+                b.clear(bean);
             } else {
                 b.put(bean);
             }
         }
 
-        _modified = false;
+        for (Binding b : _newBindings) {
+            if (clear) {
+                b.clear(bean);
+            } else {
+                put(bean, b);
+            }
+        }
+
+        _newOptComponents.clear();
+        _newBindings.clear();
+        _modified = modified;
     }
 
     /**
@@ -167,6 +227,29 @@ public class Bindings implements PropertyChangeListener, ActionListener {
      * @throws BindingException
      */
     public void get(IValidatable bean) {
+        try {
+            for (IValidatable v : copy(bean)) {
+                v.checkInvariants();
+            }
+
+            _modified = false; // XXX
+        } catch (InvariantViolationException e) {
+            e.setBinding(getBinding(e.getProperty()));
+            throw e;
+        } catch (BindingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BindingException(e);
+        }
+    }
+
+    /**
+     * Copies data from UI components to the Java Bean without checking it.
+     * 
+     * @return The bean followed by its optional components, to be checked in this order.
+     * @throws BindingException
+     */
+    public List<IValidatable> copy(IValidatable bean) {
         try {
             for (Binding b : _optComponents.values()) {
                 b.get(bean);
@@ -178,31 +261,58 @@ public class Bindings implements PropertyChangeListener, ActionListener {
                 }
             }
 
-            bean.checkInvariants();
+            List<IValidatable> beans = new ArrayList<IValidatable>();
+            beans.add(bean);
 
             for (String property : _optComponents.keySet()) {
-                IValidatable component = (IValidatable) PropertyUtils.getProperty(bean, property);
+                IValidatable component = (IValidatable) PropertyAccessor.getProperty(bean, property);
 
                 if (component != null) {
-                    component.checkInvariants();
+                    beans.add(component);
                 }
             }
 
-            _modified = false; // XXX
-        } catch (InvariantViolationException e) {
-            e.setBinding(getBinding(e.getProperty()));
-            throw e;
+            return beans;
         } catch (Exception e) {
             throw new BindingException(e);
         }
     }
 
+    /**
+     * Marks the components of the violated properties as invalid and the others as valid again.
+     */
+    public void mark(List<InvariantViolationException> violations) {
+        Set<Binding> invalid = new HashSet<Binding>();
+
+        for (InvariantViolationException e : violations) {
+            Binding b = getBinding(e.getProperty());
+
+            if (b != null) {
+                invalid.add(b);
+            }
+        }
+
+        for (Binding b : _marked) {
+            if (!invalid.contains(b)) {
+                b.clearMark();
+            }
+        }
+
+        for (Binding b : invalid) {
+            b.markInvalid();
+        }
+
+        _marked.clear();
+        _marked.addAll(invalid);
+    }
+
     private Bindings add(Binding b) {
         if (_bindings.containsKey(b.getProperty())) {
             throw new BindingException(Messages.getString("Bindings.duplicate.binding"));
         }
 
         _bindings.put(b.getProperty(), b);
+        _newBindings.add(b);
         return this;
     }
 
@@ -218,6 +328,7 @@ public class Bindings implements PropertyChangeListener, ActionListener {
         }
 
         _optComponents.put(property, b);
+        _newOptComponents.add(b);
         return this;
     }
 
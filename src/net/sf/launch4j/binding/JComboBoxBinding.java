@@ -40,8 +40,6 @@ import java.awt.Color;
 
 import javax.swing.JComboBox;
 
-import org.apache.commons.beanutils.PropertyUtils;
-
 /**
  * @author Copyright (C) 2007 Ian Roberts
  */
@@ -75,7 +73,7 @@ public class JComboBoxBinding<T> implements Binding {
 
     public void put(IValidatable bean) {
         try {
-            Integer i = (Integer) PropertyUtils.getProperty(bean, _property);
+            Integer i = (Integer) PropertyAccessor.getProperty(bean, _property);
             if (i == null) {
                 throw new BindingException(Messages.getString("JComboBoxBinding.property.null"));
             }
@@ -87,7 +85,7 @@ public class JComboBoxBinding<T> implements Binding {
 
     public void get(IValidatable bean) {
         try {
-            PropertyUtils.setProperty(bean, _property, new Integer(_combo.getSelectedIndex()));
+            PropertyAccessor.setProperty(bean, _property, new Integer(_combo.getSelectedIndex()));
             return;
         } catch (Exception e) {
             throw new BindingException(e);
@@ -110,6 +108,10 @@ public class JComboBoxBinding<T> implements Binding {
         _combo.setBackground(Binding.INVALID_COLOR);
     }
 
+    public void clearMark() {
+        _combo.setBackground(_validColor);
+    }
+
     public void setEnabled(boolean enabled) {
         _combo.setEnabled(enabled);
     }
@@ -43,8 +43,6 @@ import java.util.List;
 import javax.swing.DefaultListModel;
 import javax.swing.JList;
 
-import org.apache.commons.beanutils.PropertyUtils;
-
 /**
  * @author Copyright (C) 2006 Grzegorz Kowal
  */
@@ -77,7 +75,7 @@ public class JListBinding<T> implements Binding {
         try {
             DefaultListModel<T> model = new DefaultListModel<T>();
             @SuppressWarnings("unchecked")
-            List<T> list = (List<T>) PropertyUtils.getProperty(bean, _property);
+            List<T> list = (List<T>) PropertyAccessor.getProperty(bean, _property);
 
             if (list != null) {
                 for (T item : list) {
@@ -101,7 +99,7 @@ public class JListBinding<T> implements Binding {
                 list.add(model.get(i));
             }
 
-            PropertyUtils.setProperty(bean, _property, list);
+            PropertyAccessor.setProperty(bean, _property, list);
         } catch (Exception e) {
             throw new BindingException(e);
         }
@@ -116,6 +114,10 @@ public class JListBinding<T> implements Binding {
         _list.setBackground(Binding.INVALID_COLOR);
     }
 
+    public void clearMark() {
+        _list.setBackground(_validColor);
+    }
+
     public void setEnabled(boolean enabled) {
         _list.setEnabled(enabled);
     }
@@ -40,8 +40,6 @@ import java.awt.Color;
 
 import javax.swing.JRadioButton;
 
-import org.apache.commons.beanutils.PropertyUtils;
-
 /**
  * @author Copyright (C) 2005 Grzegorz Kowal
  */
@@ -79,7 +77,7 @@ public class JRadioButtonBinding implements Binding {
 
     public void put(IValidatable bean) {
         try {
-            Integer i = (Integer) PropertyUtils.getProperty(bean, _property);
+            Integer i = (Integer) PropertyAccessor.getProperty(bean, _property);
             if (i == null) {
                 throw new BindingException(Messages.getString("JRadioButtonBinding.property.null"));
             }
@@ -93,7 +91,7 @@ public class JRadioButtonBinding implements Binding {
         try {
             for (int i = 0; i < _buttons.length; i++) {
                 if (_buttons[i].isSelected()) {
-                    PropertyUtils.setProperty(bean, _property, new Integer(i));
+                    PropertyAccessor.setProperty(bean, _property, new Integer(i));
                     return;
                 }
             }
@@ -131,6 +129,12 @@ public class JRadioButtonBinding implements Binding {
         throw new BindingException(Messages.getString("JRadioButtonBinding.nothing.selected"));
     }
 
+    public void clearMark() {
+        for (int i = 0; i < _buttons.length; i++) {
+            _buttons[i].setBackground(_validColor);
+        }
+    }
+
     public void setEnabled(boolean enabled) {
         for (int i = 0; i < _buttons.length; i++) {
             _buttons[i].setEnabled(enabled);
@@ -42,8 +42,6 @@ import java.util.List;
 
 import javax.swing.JTextArea;
 
-import org.apache.commons.beanutils.PropertyUtils;
-
 /**
  * @author Copyright (C) 2006 Grzegorz Kowal
  */
@@ -74,7 +72,7 @@ public class JTextAreaBinding implements Binding {
 
     public void put(IValidatable bean) {
         try {
-            List<?> list = (List<?>) PropertyUtils.getProperty(bean, _property);
+            List<?> list = (List<?>) PropertyAccessor.getProperty(bean, _property);
             StringBuffer sb = new StringBuffer();
 
             if (list != null) {
@@ -104,9 +102,9 @@ public class JTextAreaBinding implements Binding {
                     list.add(items[i]);
                 }
 
-                PropertyUtils.setProperty(bean, _property, list);
+                PropertyAccessor.setProperty(bean, _property, list);
             } else {
-                PropertyUtils.setProperty(bean, _property, null);
+                PropertyAccessor.setProperty(bean, _property, null);
             }
         } catch (Exception e) {
             throw new BindingException(e);
@@ -122,6 +120,10 @@ public class JTextAreaBinding implements Binding {
         _textArea.setBackground(Binding.INVALID_COLOR);
     }
 
+    public void clearMark() {
+        _textArea.setBackground(_validColor);
+    }
+
     public void setEnabled(boolean enabled) {
         _textArea.setEnabled(enabled);
     }
@@ -40,8 +40,6 @@ import java.awt.Color;
 
 import javax.swing.text.JTextComponent;
 
-import org.apache.commons.beanutils.BeanUtils;
-
 /**
  * Handles JEditorPane, JTextArea, JTextField
  * 
@@ -76,7 +74,7 @@ public class JTextComponentBinding implements Binding {
 
     public void put(IValidatable bean) {
         try {
-            String s = BeanUtils.getProperty(bean, _property);
+            String s = PropertyAccessor.getString(bean, _property);
             // XXX displays zeros as blank
             _textComponent.setText(s != null && !s.equals("0") ? s : "");
         } catch (Exception e) {
@@ -86,7 +84,7 @@ public class JTextComponentBinding implements Binding {
 
     public void get(IValidatable bean) {
         try {
-            BeanUtils.setProperty(bean, _property, _textComponent.getText());
+            PropertyAccessor.setString(bean, _property, _textComponent.getText());
         } catch (Exception e) {
             throw new BindingException(e);
         }
@@ -101,6 +99,10 @@ public class JTextComponentBinding implements Binding {
         _textComponent.setBackground(Binding.INVALID_COLOR);
     }
 
+    public void clearMark() {
+        _textComponent.setBackground(_validColor);
+    }
+
     public void setEnabled(boolean enabled) {
         _textComponent.setEnabled(enabled);
     }
@@ -40,8 +40,6 @@ import java.awt.Color;
 
 import javax.swing.JToggleButton;
 
-import org.apache.commons.beanutils.PropertyUtils;
-
 /**
  * Handles JToggleButton, JCheckBox
  *
@@ -76,7 +74,7 @@ public class JToggleButtonBinding implements Binding {
 
     public void put(IValidatable bean) {
         try {
-            Boolean b = (Boolean) PropertyUtils.getProperty(bean, _property);
+            Boolean b = (Boolean) PropertyAccessor.getProperty(bean, _property);
             _button.setSelected(b != null && b.booleanValue());
         } catch (Exception e) {
             throw new BindingException(e);
@@ -85,7 +83,7 @@ public class JToggleButtonBinding implements Binding {
 
     public void get(IValidatable bean) {
         try {
-            PropertyUtils.setProperty(bean, _property, Boolean.valueOf(_button.isSelected()));
+            PropertyAccessor.setProperty(bean, _property, Boolean.valueOf(_button.isSelected()));
         } catch (Exception e) {
             throw new BindingException(e);
         }
@@ -100,6 +98,10 @@ public class JToggleButtonBinding implements Binding {
         _button.setBackground(Binding.INVALID_COLOR);
     }
 
+    public void clearMark() {
+        _button.setBackground(_validColor);
+    }
+
     public void setEnabled(boolean enabled) {
         _button.setEnabled(enabled);
     }
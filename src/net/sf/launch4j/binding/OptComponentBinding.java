@@ -42,8 +42,6 @@ import java.util.Arrays;
 
 import javax.swing.JToggleButton;
 
-import org.apache.commons.beanutils.PropertyUtils;
-
 /**
  * @author Copyright (C) 2005 Grzegorz Kowal
  */
@@ -88,7 +86,7 @@ public class OptComponentBinding implements Binding, ActionListener {
 
     public void put(IValidatable bean) {
         try {
-            Object component = PropertyUtils.getProperty(bean, _property);
+            Object component = PropertyAccessor.getProperty(bean, _property);
             _button.setSelected(component != null);
             updateComponents();
         } catch (Exception e) {
@@ -98,7 +96,7 @@ public class OptComponentBinding implements Binding, ActionListener {
 
     public void get(IValidatable bean) {
         try {
-            PropertyUtils.setProperty(bean, _property, _button.isSelected() ? _clazz.newInstance() : null);
+            PropertyAccessor.setProperty(bean, _property, _button.isSelected() ? _clazz.newInstance() : null);
         } catch (Exception e) {
             throw new BindingException(e);
         }
@@ -110,6 +108,9 @@ public class OptComponentBinding implements Binding, ActionListener {
     public void markInvalid() {
     }
 
+    public void clearMark() {
+    }
+
     public void setEnabled(boolean enabled) {
     } // XXX implement?
 
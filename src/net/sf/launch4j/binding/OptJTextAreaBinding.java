@@ -45,9 +45,6 @@ import java.util.List;
 import javax.swing.JTextArea;
 import javax.swing.JToggleButton;
 
-import org.apache.commons.beanutils.BeanUtils;
-import org.apache.commons.beanutils.PropertyUtils;
-
 /**
  * @author Copyright (C) 2005 Grzegorz Kowal
  */
@@ -83,10 +80,10 @@ public class OptJTextAreaBinding implements Binding, ActionListener {
 
     public void put(IValidatable bean) {
         try {
-            boolean selected = "true".equals(BeanUtils.getProperty(bean, _stateProperty));
+            boolean selected = "true".equals(PropertyAccessor.getString(bean, _stateProperty));
             _button.setSelected(selected);
             _textArea.setEnabled(selected);
-            List<?> list = (List<?>) PropertyUtils.getProperty(bean, _property);
+            List<?> list = (List<?>) PropertyAccessor.getProperty(bean, _property);
             StringBuffer sb = new StringBuffer();
 
             if (list != null) {
@@ -116,9 +113,9 @@ public class OptJTextAreaBinding implements Binding, ActionListener {
                     list.add(s);
                 }
 
-                PropertyUtils.setProperty(bean, _property, list);
+                PropertyAccessor.setProperty(bean, _property, list);
             } else {
-                PropertyUtils.setProperty(bean, _property, null);
+                PropertyAccessor.setProperty(bean, _property, null);
             }
         } catch (Exception e) {
             throw new BindingException(e);
@@ -134,6 +131,10 @@ public class OptJTextAreaBinding implements Binding, ActionListener {
         _textArea.setBackground(Binding.INVALID_COLOR);
     }
 
+    public void clearMark() {
+        _textArea.setBackground(_validColor);
+    }
+
     public void setEnabled(boolean enabled) {
         _textArea.setEnabled(enabled);
     }
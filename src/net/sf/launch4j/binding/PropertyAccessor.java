@@ -0,0 +1,242 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.binding;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads and writes a dotted property path of a Java Bean, e.g. jre.minVersion. Each path is resolved once per bean
+ * class into method handles, which are cached.
+ * 
+ * The string accessors convert the values like the text fields need them: an empty or invalid number is null for an
+ * Integer and 0 for an int property.
+ */
+public class PropertyAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<String, PropertyAccessor>> _accessors =
+            new ClassValue<ConcurrentMap<String, PropertyAccessor>>() {
+                @Override
+                protected ConcurrentMap<String, PropertyAccessor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<String, PropertyAccessor>();
+                }
+            };
+
+    private final String _path;
+    private final MethodHandle[] _getters;
+    private final MethodHandle _setter;
+    private final Class<?> _type;
+
+    private PropertyAccessor(Class<?> beanClass, String path) {
+        String[] names = path.split("\\.");
+        _path = path;
+        _getters = new MethodHandle[names.length];
+        MethodHandle setter = null;
+        Class<?> type = beanClass;
+
+        try {
+            for (int i = 0; i < names.length; i++) {
+                PropertyDescriptor pd = findProperty(type, names[i]);
+
+                if (pd == null || pd.getReadMethod() == null) {
+                    throw new BindingException(Messages.getString("PropertyAccessor.unknown", path));
+                }
+
+                _getters[i] = MethodHandles.publicLookup().unreflect(pd.getReadMethod()).asType(GETTER_TYPE);
+
+                if (i == names.length - 1 && pd.getWriteMethod() != null) {
+                    setter = MethodHandles.publicLookup().unreflect(pd.getWriteMethod()).asType(SETTER_TYPE);
+                }
+
+                type = pd.getPropertyType();
+            }
+        } catch (IntrospectionException e) {
+            throw new BindingException(e);
+        } catch (IllegalAccessException e) {
+            throw new BindingException(e);
+        }
+
+        _setter = setter;
+        _type = type;
+    }
+
+    private static PropertyDescriptor findProperty(Class<?> type, String name) throws IntrospectionException {
+        for (PropertyDescriptor pd : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+            if (pd.getName().equals(name)) {
+                return pd;
+            }
+        }
+
+        return null;
+    }
+
+    public static PropertyAccessor get(Class<?> beanClass, String path) {
+        ConcurrentMap<String, PropertyAccessor> accessors = _accessors.get(beanClass);
+        PropertyAccessor accessor = accessors.get(path);
+
+        if (accessor == null) {
+            accessor = new PropertyAccessor(beanClass, path);
+            accessors.putIfAbsent(path, accessor);
+        }
+
+        return accessor;
+    }
+
+    public static Object getProperty(Object bean, String path) {
+        return get(bean.getClass(), path).getValue(bean);
+    }
+
+    public static void setProperty(Object bean, String path, Object value) {
+        get(bean.getClass(), path).setValue(bean, value);
+    }
+
+    /**
+     * @return The value as a string, or null.
+     */
+    public static String getString(Object bean, String path) {
+        Object value = getProperty(bean, path);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Converts the string to the property type. Does nothing if a nested bean on the path is null.
+     */
+    public static void setString(Object bean, String path, String s) {
+        get(bean.getClass(), path).setString(bean, s);
+    }
+
+    public Class<?> getType() {
+        return _type;
+    }
+
+    /**
+     * @throws BindingException if a nested bean on the path is null.
+     */
+    public Object getValue(Object bean) {
+        try {
+            Object value = bean;
+
+            for (MethodHandle getter : _getters) {
+                if (value == null) {
+                    throw new BindingException(Messages.getString("PropertyAccessor.nested.null", _path));
+                }
+
+                value = (Object) getter.invokeExact(value);
+            }
+
+            return value;
+        } catch (BindingException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new BindingException(t);
+        }
+    }
+
+    /**
+     * @throws BindingException if a nested bean on the path is null.
+     */
+    public void setValue(Object bean, Object value) {
+        Object parent = getParent(bean);
+
+        if (parent == null) {
+            throw new BindingException(Messages.getString("PropertyAccessor.nested.null", _path));
+        }
+
+        set(parent, value);
+    }
+
+    public void setString(Object bean, String s) {
+        Object parent = getParent(bean);
+
+        if (parent != null) {
+            set(parent, convert(s));
+        }
+    }
+
+    private Object getParent(Object bean) {
+        try {
+            Object parent = bean;
+
+            for (int i = 0; i < _getters.length - 1 && parent != null; i++) {
+                parent = (Object) _getters[i].invokeExact(parent);
+            }
+
+            return parent;
+        } catch (Throwable t) {
+            throw new BindingException(t);
+        }
+    }
+
+    private void set(Object parent, Object value) {
+        if (_setter == null) {
+            throw new BindingException(Messages.getString("PropertyAccessor.read.only", _path));
+        }
+
+        try {
+            _setter.invokeExact(parent, value);
+        } catch (Throwable t) {
+            throw new BindingException(t);
+        }
+    }
+
+    private Object convert(String s) {
+        if (s == null || _type == String.class || _type == Object.class) {
+            return s;
+        } else if (_type == File.class) {
+            return new File(s);
+        } else if (_type == Integer.class || _type == int.class) {
+            try {
+                return Integer.valueOf(s.trim());
+            } catch (NumberFormatException e) {
+                return _type == int.class ? Integer.valueOf(0) : null;
+            }
+        } else if (_type == Boolean.class || _type == boolean.class) {
+            return Boolean.valueOf(s.trim());
+        }
+
+        throw new BindingException(Messages.getString("PropertyAccessor.unsupported.type", _path));
+    }
+}
@@ -37,8 +37,15 @@
 package net.sf.launch4j.binding;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 
 import net.sf.launch4j.Util;
 import net.sf.launch4j.config.ConfigPersister;
@@ -57,9 +64,61 @@ public class Validator {
     public static final int MAX_BIG_STR = 8192; // or 16384;
     public static final int MAX_ARGS = 32767 - 2048;
 
+    private static final ConcurrentMap<String, Pattern> _patterns = new ConcurrentHashMap<String, Pattern>();
+    private static final ThreadLocal<Collector> _collector = new ThreadLocal<Collector>();
+
     private Validator() {
     }
 
+    /**
+     * Checks all beans and collects the first violation of each property, instead of stopping at the first one. The
+     * checks of a bean end when they cannot continue after a violation.
+     *
+     * @param existing Memoized results of the file existence checks, may be null.
+     */
+    public static List<InvariantViolationException> collectViolations(List<IValidatable> beans,
+            Map<File, Boolean> existing) {
+        Collector collector = new Collector(existing);
+        _collector.set(collector);
+        try {
+            for (IValidatable bean : beans) {
+                try {
+                    bean.checkInvariants();
+                } catch (RuntimeException e) {
+                    // a check depended on a violated one
+                }
+            }
+        } finally {
+            _collector.remove();
+        }
+        return collector.violations;
+    }
+
+    /**
+     * Matches with a compiled pattern, which is cached.
+     */
+    public static boolean matches(String s, String pattern) {
+        Pattern p = _patterns.get(pattern);
+        if (p == null) {
+            p = Pattern.compile(pattern);
+            _patterns.putIfAbsent(pattern, p);
+        }
+        return p.matcher(s).matches();
+    }
+
+    private static boolean exists(File f) {
+        Collector collector = _collector.get();
+        if (collector == null || collector.existing == null) {
+            return f.exists();
+        }
+        Boolean exists = collector.existing.get(f);
+        if (exists == null) {
+            exists = Boolean.valueOf(f.exists());
+            collector.existing.put(f, exists);
+        }
+        return exists.booleanValue();
+    }
+
     public static boolean isEmpty(String s) {
         return s == null || s.equals("");
     }
@@ -73,6 +132,7 @@ public class Validator {
     public static void checkString(String s, int maxLength, String property, String name) {
         if (s == null || s.length() == 0) {
             signalViolation(property, Messages.getString("Validator.empty.field", name));
+            return;
         }
         if (s.length() > maxLength) {
             signalLengthViolation(property, name, maxLength);
@@ -100,7 +160,7 @@ public class Validator {
     public static void checkString(String s, int maxLength, String pattern, String property, String name) {
         checkString(s, maxLength, property, name);
 
-        if (!s.matches(pattern)) {
+        if (s != null && !matches(s, pattern)) {
             signalViolation(property, Messages.getString("Validator.invalid.data", name));
         }
     }
@@ -116,7 +176,7 @@ public class Validator {
         for (String s : strings) {
             checkString(s, maxLength, property, name);
 
-            if (!s.matches(pattern)) {
+            if (s != null && !matches(s, pattern)) {
                 signalViolation(property, msg != null ? msg : Messages.getString("Validator.invalid.data", name));
             }
 
@@ -147,7 +207,7 @@ public class Validator {
             signalLengthViolation(property, name, maxLength);
         }
 
-        if (!s.matches(pattern)) {
+        if (!matches(s, pattern)) {
             signalViolation(property, Messages.getString("Validator.invalid.data", name));
         }
     }
@@ -175,6 +235,7 @@ public class Validator {
     public static void checkIn(String s, String[] strings, String property, String name) {
         if (isEmpty(s)) {
             signalViolation(property, Messages.getString("Validator.empty.field", name));
+            return;
         }
 
         List<String> list = Arrays.asList(strings);
@@ -198,7 +259,7 @@ public class Validator {
 
     public static void checkFile(File f, String property, String fileDescription) {
         File cfgPath = ConfigPersister.getInstance().getConfigPath();
-        if (f == null || f.getPath().equals("") || (!f.exists() && !Util.getAbsoluteFile(cfgPath, f).exists())) {
+        if (f == null || f.getPath().equals("") || (!exists(f) && !exists(Util.getAbsoluteFile(cfgPath, f)))) {
             signalViolation(property, Messages.getString("Validator.doesnt.exist", fileDescription));
         }
     }
@@ -220,7 +281,29 @@ public class Validator {
         signalViolation(property, Messages.getString("Validator.exceeds.max.length", name, String.valueOf(maxLength)));
     }
 
+    /**
+     * Throws the violation, unless violations are collected.
+     */
     public static void signalViolation(String property, String msg) {
-        throw new InvariantViolationException(property, msg);
+        InvariantViolationException e = new InvariantViolationException(property, msg);
+        Collector collector = _collector.get();
+
+        if (collector == null) {
+            throw e;
+        }
+
+        if (collector.properties.add(property)) {
+            collector.violations.add(e);
+        }
+    }
+
+    private static class Collector {
+        final List<InvariantViolationException> violations = new ArrayList<InvariantViolationException>();
+        final Set<String> properties = new HashSet<String>();
+        final Map<File, Boolean> existing;
+
+        Collector(Map<File, Boolean> existing) {
+            this.existing = existing;
+        }
     }
 }
@@ -38,7 +38,9 @@ package net.sf.launch4j.config;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import net.sf.launch4j.binding.IValidatable;
 import net.sf.launch4j.binding.Validator;
@@ -46,7 +48,7 @@ import net.sf.launch4j.binding.Validator;
 /**
  * @author Copyright (C) 2005 Grzegorz Kowal
  */
-public class Config implements IValidatable {
+public class Config implements IValidatable, Cloneable {
 
     // 1.x config properties_____________________________________________________________
     public static final String HEADER = "header";
@@ -72,6 +74,9 @@ public class Config implements IValidatable {
     private static final int[] PRIORITY_CLASSES = new int[] { 0x00000020, 0x00000040, 0x00000080 };
 
     private boolean dontWrapJar;
+    private boolean mergeClassPath;
+    private boolean flattenMultiRelease;
+    private boolean optimizeImages;
     private String headerType = GUI_HEADER;
     private List<String> headerObjects;
     private List<String> libs;
@@ -97,9 +102,12 @@ public class Config implements IValidatable {
     private Splash splash;
     private VersionInfo versionInfo;
     private Msg messages;
+    private Signing signing;
+    private SizeReport sizeReport;
+    private List<Variant> variants;
 
     public void checkInvariants() {
-        Validator.checkTrue(outfile != null && outfile.getPath().endsWith(".exe"), "outfile",
+        Validator.checkTrue(isVariants() || (outfile != null && outfile.getPath().endsWith(".exe")), "outfile",
                 Messages.getString("Config.specify.output.exe"));
         if (dontWrapJar) {
             if (jar != null && !jar.getPath().equals("")) {
@@ -110,6 +118,14 @@ public class Config implements IValidatable {
         } else {
             Validator.checkFile(jar, "jar", Messages.getString("Config.application.jar"));
         }
+        if (mergeClassPath) {
+            Validator.checkFalse(dontWrapJar, "mergeClassPath", Messages.getString("Config.merge.classpath.wrap"));
+            Validator.checkTrue(classPath != null, "mergeClassPath", Messages.getString("Config.merge.classpath"));
+        }
+        if (flattenMultiRelease) {
+            Validator.checkFalse(dontWrapJar, "flattenMultiRelease",
+                    Messages.getString("Config.flatten.multi.release.wrap"));
+        }
         if (!Validator.isEmpty(chdir)) {
             Validator.checkRelativeWinPath(chdir, "chdir", Messages.getString("Config.chdir.relative"));
             Validator.checkFalse(chdir.toLowerCase().equals("true") || chdir.toLowerCase().equals("false"), "chdir",
@@ -159,6 +175,51 @@ public class Config implements IValidatable {
         if (versionInfo != null) {
             versionInfo.checkInvariants();
         }
+        if (signing != null) {
+            signing.checkInvariants();
+        }
+        if (sizeReport != null) {
+            sizeReport.checkInvariants();
+        }
+        if (isVariants()) {
+            checkVariants();
+        }
+    }
+
+    /**
+     * Each variant must yield a valid configuration, a distinct output file and distinct size reports.
+     */
+    private void checkVariants() {
+        Set<String> outfiles = new HashSet<String>();
+        Set<String> reports = new HashSet<String>();
+
+        for (Variant v : variants) {
+            v.checkInvariants();
+            Validator.checkTrue(outfiles.add(v.getOutfile().getPath()), "variants",
+                    Messages.getString("Config.variants.outfile", v.getOutfile().getPath()));
+            Config c = v.apply(this);
+            c.checkInvariants();
+
+            if (c.getVersionInfo() != null) {
+                c.getVersionInfo().checkInvariants();
+            }
+
+            if (c.getMessages() != null) {
+                c.getMessages().checkInvariants();
+            }
+
+            if (c.getSizeReport() != null) {
+                checkVariantReport(reports, c.getSizeReport().getJson());
+                checkVariantReport(reports, c.getSizeReport().getHtml());
+            }
+        }
+    }
+
+    private void checkVariantReport(Set<String> reports, File report) {
+        if (report != null) {
+            Validator.checkTrue(reports.add(report.getPath()), "variants",
+                    Messages.getString("Config.variants.size.report", report.getPath()));
+        }
     }
 
     /** Change current directory to EXE location. */
@@ -352,6 +413,33 @@ public class Config implements IValidatable {
         this.dontWrapJar = dontWrapJar;
     }
 
+    /** Merge the classpath jars into the wrapped jar. */
+    public boolean isMergeClassPath() {
+        return mergeClassPath;
+    }
+
+    public void setMergeClassPath(boolean mergeClassPath) {
+        this.mergeClassPath = mergeClassPath;
+    }
+
+    /** Resolve the multi-release entries of the wrapped jar for the JRE version range. */
+    public boolean isFlattenMultiRelease() {
+        return flattenMultiRelease;
+    }
+
+    public void setFlattenMultiRelease(boolean flattenMultiRelease) {
+        this.flattenMultiRelease = flattenMultiRelease;
+    }
+
+    /** Re-encode the icon and reduce the splash bitmap before they are embedded. */
+    public boolean isOptimizeImages() {
+        return optimizeImages;
+    }
+
+    public void setOptimizeImages(boolean optimizeImages) {
+        this.optimizeImages = optimizeImages;
+    }
+
     public int getPriorityIndex() {
         int x = Arrays.asList(PRIORITY_CLASS_NAMES).indexOf(getPriority());
         return x != -1 ? x : 0;
@@ -404,4 +492,46 @@ public class Config implements IValidatable {
     public void setSingleInstance(SingleInstance singleInstance) {
         this.singleInstance = singleInstance;
     }
+
+    /** Authenticode signing configuration. */
+    public Signing getSigning() {
+        return signing;
+    }
+
+    public void setSigning(Signing signing) {
+        this.signing = signing;
+    }
+
+    /** Size breakdown report and size budgets. */
+    public SizeReport getSizeReport() {
+        return sizeReport;
+    }
+
+    public void setSizeReport(SizeReport sizeReport) {
+        this.sizeReport = sizeReport;
+    }
+
+    /**
+     * @return Shallow copy of the configuration, nested elements are shared.
+     */
+    public Config copy() {
+        try {
+            return (Config) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean isVariants() {
+        return variants != null && !variants.isEmpty();
+    }
+
+    /** Variants built from this configuration instead of the single output file. */
+    public List<Variant> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(List<Variant> variants) {
+        this.variants = variants;
+    }
 }
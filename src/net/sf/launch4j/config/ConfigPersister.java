@@ -41,12 +41,21 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.w3c.dom.ls.DOMImplementationLS;
 import org.w3c.dom.ls.LSSerializer;
 
@@ -63,9 +72,21 @@ public class ConfigPersister {
 
     private static final ConfigPersister _instance = new ConfigPersister();
 
+    private static final String PARENT = "parent";
+    private static final String INCLUDE = "include";
+
+    /** Repeated elements holding nested elements, replaced as a whole instead of merged. */
+    private static final String[] LIST_ELEMENTS = new String[] { "variant" };
+
+    /** Paths relative to the configuration's directory, made absolute in parents and includes. */
+    private static final String[] FILE_ELEMENTS = new String[] { "jar", "outfile", "manifest", "icon", "splash/file",
+            "signing/keystore", "sizeReport/json", "sizeReport/html", "variant/outfile" };
+
     private final XStream _xstream;
+    private final Map<File, ResolvedDocument> _resolved = new HashMap<File, ResolvedDocument>();
     private Config _config;
     private File _configPath;
+    private Set<File> _configSources = Collections.emptySet();
 
     private ConfigPersister() {
         _xstream = new XStream(new DomDriver());
@@ -81,12 +102,18 @@ public class ConfigPersister {
         _xstream.alias("jre", Jre.class);
         _xstream.alias("splash", Splash.class);
         _xstream.alias("versionInfo", VersionInfo.class);
+        _xstream.alias("signing", Signing.class);
+        _xstream.alias("sizeReport", SizeReport.class);
+        _xstream.alias("variant", Variant.class);
 
         _xstream.addImplicitCollection(Config.class, "headerObjects", "obj", String.class);
         _xstream.addImplicitCollection(Config.class, "libs", "lib", String.class);
         _xstream.addImplicitCollection(Config.class, "variables", "var", String.class);
         _xstream.addImplicitCollection(ClassPath.class, "paths", "cp", String.class);
         _xstream.addImplicitCollection(Jre.class, "options", "opt", String.class);
+        _xstream.addImplicitCollection(Signing.class, "args", "arg", String.class);
+        _xstream.addImplicitCollection(Config.class, "variants", "variant", Variant.class);
+        _xstream.addImplicitCollection(Variant.class, "options", "opt", String.class);
     }
 
     public static ConfigPersister getInstance() {
@@ -101,59 +128,268 @@ public class ConfigPersister {
         return _configPath;
     }
 
+    /**
+     * @return Files the current configuration was loaded from: the file itself, its parents and includes.
+     */
+    public Set<File> getConfigSources() {
+        return _configSources;
+    }
+
+    /**
+     * @return true if the current configuration was merged from parents or includes, saving it writes the merged
+     *         settings and drops the references.
+     */
+    public boolean isInherited() {
+        return _configSources.size() > 1;
+    }
+
     public File getOutputPath() throws IOException {
-        if (_config.getOutfile().isAbsolute()) {
-            return _config.getOutfile().getParentFile();
+        return getOutputPath(_config);
+    }
+
+    public File getOutputFile() throws IOException {
+        return getOutputFile(_config);
+    }
+
+    /**
+     * @return Output directory of a configuration loaded from this file, e.g. a variant.
+     */
+    public File getOutputPath(Config c) throws IOException {
+        if (c.getOutfile().isAbsolute()) {
+            return c.getOutfile().getParentFile();
         }
-        File parent = _config.getOutfile().getParentFile();
+        File parent = c.getOutfile().getParentFile();
         return (parent != null) ? new File(_configPath, parent.getPath()) : _configPath;
     }
 
-    public File getOutputFile() throws IOException {
-        return _config.getOutfile().isAbsolute() ? _config.getOutfile()
-                : new File(getOutputPath(), _config.getOutfile().getName());
+    public File getOutputFile(Config c) throws IOException {
+        return c.getOutfile().isAbsolute() ? c.getOutfile() : new File(getOutputPath(c), c.getOutfile().getName());
     }
 
     public void createBlank() {
         _config = new Config();
         _config.setJre(new Jre());
         _configPath = null;
+        _configSources = Collections.emptySet();
     }
 
     public void setAntConfig(Config c, File basedir) {
         _config = c;
         _configPath = basedir;
+        _configSources = Collections.emptySet();
     }
 
     public void load(File f) throws ConfigPersisterException {
         try {
+            ResolvedDocument resolved = resolve(f);
+            _config = convertToCurrent(toString(resolved.doc));
+            _configSources = Collections.unmodifiableSet(new HashSet<File>(resolved.sources.keySet()));
+            setConfigPath(f);
+        } catch (ConfigPersisterException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ConfigPersisterException(e);
+        }
+    }
+
+    /**
+     * Parses the configuration and merges it over its parent and includes, then over its own elements. Nested
+     * elements are merged field by field, other elements replace all inherited elements with the same name.
+     * Parents and includes are cached until one of their sources changes, so fragments shared by a batch of
+     * configurations are parsed only once. The configurations themselves aren't cached. Relative paths in parents
+     * and includes are relative to their own directory.
+     *
+     * @return The merged configuration.
+     */
+    private synchronized ResolvedDocument resolve(File f) throws Exception {
+        return resolve(f.getCanonicalFile(), new HashSet<File>(), false);
+    }
+
+    private static String toString(Document doc) {
+        DOMImplementationLS domImplementation = (DOMImplementationLS) doc.getImplementation();
+        LSSerializer lsSerializer = domImplementation.createLSSerializer();
+        return lsSerializer.writeToString(doc);
+    }
+
+    /**
+     * @param referenced true for a parent or include, which is cached.
+     */
+    private ResolvedDocument resolve(File f, Set<File> including, boolean referenced) throws Exception {
+        if (!including.add(f)) {
+            throw new ConfigPersisterException(Messages.getString("ConfigPersister.include.cycle", f.getPath()));
+        }
+
+        try {
+            ResolvedDocument cached = _resolved.get(f);
+
+            if (cached != null && cached.isCurrent()) {
+                return cached;
+            }
+
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = factory.newDocumentBuilder();
             Document doc = builder.parse(f);
+            Element root = doc.getDocumentElement();
+
+            if (referenced) {
+                rebase(root, f.getParentFile());
+            }
+
+            List<Element> refs = new ArrayList<Element>();
+            refs.addAll(getChildElements(root, PARENT));
+            refs.addAll(getChildElements(root, INCLUDE));
+
+            ResolvedDocument resolved = new ResolvedDocument();
+            resolved.sources.put(f, f.lastModified());
+
+            for (Element ref : refs) {
+                root.removeChild(ref);
+                File file = new File(ref.getTextContent().trim());
+                ResolvedDocument base = resolve(
+                        (file.isAbsolute() ? file : new File(f.getParentFile(), file.getPath())).getCanonicalFile(),
+                        including, true);
+                resolved.sources.putAll(base.sources);
+
+                if (resolved.doc == null) {
+                    resolved.doc = (Document) base.doc.cloneNode(true);
+                } else {
+                    merge(resolved.doc.getDocumentElement(), base.doc.getDocumentElement());
+                }
+            }
+
+            if (resolved.doc == null) {
+                resolved.doc = doc;
+            } else {
+                merge(resolved.doc.getDocumentElement(), root);
+            }
+
+            if (referenced) {
+                _resolved.put(f, resolved);
+            }
+
+            return resolved;
+        } finally {
+            including.remove(f);
+        }
+    }
 
-            DOMImplementationLS domImplementation = (DOMImplementationLS) doc.getImplementation();
-            LSSerializer lsSerializer = domImplementation.createLSSerializer();
-            String configString = lsSerializer.writeToString(doc);
+    /**
+     * Fragments can be shared by configurations in other directories, so their relative paths are resolved against
+     * the fragment's directory before merging.
+     */
+    private static void rebase(Element root, File dir) {
+        for (String path : FILE_ELEMENTS) {
+            List<Element> elements = Collections.singletonList(root);
 
-            _config = convertToCurrent(configString);
-            setConfigPath(f);
-        } catch (Exception e) {
-            throw new ConfigPersisterException(e);
+            for (String name : path.split("/")) {
+                List<Element> children = new ArrayList<Element>();
+
+                for (Element e : elements) {
+                    children.addAll(getChildElements(e, name));
+                }
+
+                elements = children;
+            }
+
+            for (Element e : elements) {
+                File file = new File(e.getTextContent().trim());
+
+                if (!file.getPath().equals("") && !file.isAbsolute()) {
+                    e.setTextContent(new File(dir, file.getPath()).getPath());
+                }
+            }
+        }
+    }
+
+    private void merge(Element base, Element overlay) {
+        Set<String> replaced = new HashSet<String>();
+
+        for (Node n = overlay.getFirstChild(); n != null; n = n.getNextSibling()) {
+            if (!(n instanceof Element)) {
+                continue;
+            }
+
+            Element e = (Element) n;
+            String name = e.getTagName();
+            List<Element> inherited = getChildElements(base, name);
+
+            if (inherited.size() == 1 && getChildElements(overlay, name).size() == 1 && hasChildElements(e)
+                    && !isListElement(name)) {
+                merge(inherited.get(0), e);
+            } else {
+                if (replaced.add(name)) {
+                    for (Element old : inherited) {
+                        base.removeChild(old);
+                    }
+                }
+
+                base.appendChild(base.getOwnerDocument().importNode(e, true));
+            }
+        }
+    }
+
+    private static List<Element> getChildElements(Element parent, String name) {
+        List<Element> elements = new ArrayList<Element>();
+
+        for (Node n = parent.getFirstChild(); n != null; n = n.getNextSibling()) {
+            if (n instanceof Element && ((Element) n).getTagName().equals(name)) {
+                elements.add((Element) n);
+            }
+        }
+
+        return elements;
+    }
+
+    private static boolean hasChildElements(Element e) {
+        for (Node n = e.getFirstChild(); n != null; n = n.getNextSibling()) {
+            if (n instanceof Element) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isListElement(String name) {
+        for (String s : LIST_ELEMENTS) {
+            if (s.equals(name)) {
+                return true;
+            }
         }
+
+        return false;
     }
 
+    /**
+     * Saves the current configuration, merged if it inherits from parents or includes, see {@link #isInherited()}.
+     */
     public void save(File f) throws ConfigPersisterException {
+        save(_config, f);
+        setConfigPath(f);
+        _configSources = Collections.singleton(f.getAbsoluteFile());
+    }
+
+    /**
+     * Saves the configuration without making it the current one.
+     */
+    public void save(Config c, File f) throws ConfigPersisterException {
         try {
             BufferedWriter w = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(f), "UTF-8"));
             w.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-            _xstream.toXML(_config, w);
+            _xstream.toXML(c, w);
             w.close();
-            setConfigPath(f);
         } catch (Exception e) {
             throw new ConfigPersisterException(e);
         }
     }
 
+    /**
+     * @return The configuration serialized as in a saved file.
+     */
+    public String toXML(Config c) {
+        return _xstream.toXML(c);
+    }
+
     /**
      * Converts 2.x config to current format.
      */
@@ -188,4 +424,22 @@ public class ConfigPersister {
     private void setConfigPath(File configFile) {
         _configPath = configFile.getAbsoluteFile().getParentFile();
     }
+
+    /**
+     * Configuration merged with its parent and includes, and the modification times of the files it came from.
+     */
+    private static class ResolvedDocument {
+        final Map<File, Long> sources = new HashMap<File, Long>();
+        Document doc;
+
+        boolean isCurrent() {
+            for (Map.Entry<File, Long> e : sources.entrySet()) {
+                if (e.getKey().lastModified() != e.getValue().longValue()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
 }
@@ -45,6 +45,10 @@ public class ConfigPersisterException extends Exception {
         super(msg, t);
     }
 
+    public ConfigPersisterException(String msg) {
+        super(msg);
+    }
+
     public ConfigPersisterException(Throwable t) {
         super(t);
     }
@@ -44,7 +44,7 @@ import net.sf.launch4j.binding.Validator;
 /**
  * @author Copyright (C) 2005 Grzegorz Kowal
  */
-public class Jre implements IValidatable {
+public class Jre implements IValidatable, Cloneable {
 
     public static final String VERSION_PATTERN = "(1\\.\\d\\.\\d(_\\d{1,3})?)|[1-9][0-9]{0,2}(\\.\\d{1,3}){0,2}";
     public static final String DEFAULT_PATH = "%JAVA_HOME%;%PATH%";
@@ -187,6 +187,17 @@ public class Jre implements IValidatable {
         this.maxHeapPercent = getInteger(maxHeapPercent);
     }
 
+    /**
+     * @return Shallow copy of the JRE options.
+     */
+    public Jre copy() {
+        try {
+            return (Jre) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /** Convert 0 to null */
     private Integer getInteger(Integer i) {
         return i != null && i.intValue() == 0 ? null : i;
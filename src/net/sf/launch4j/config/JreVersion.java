@@ -1,5 +1,7 @@
 package net.sf.launch4j.config;
 
+import net.sf.launch4j.binding.Validator;
+
 /**
  * This class will abstract application from JRE versioning schema and provide comparing capabilities
  * 
@@ -17,7 +19,7 @@ public class JreVersion implements Comparable<JreVersion> {
         if (versionStr == null || versionStr.trim().length() == 0) {
             return ret;
         }
-        if (!versionStr.matches(Jre.VERSION_PATTERN)) {
+        if (!Validator.matches(versionStr, Jre.VERSION_PATTERN)) {
             // NOTE: This is actually shouldn't happen because version format had to be
             // checked by Jre#checkInvariants BEFORE calling this method
             throw new IllegalArgumentException("JRE version is not in a right format.");
@@ -52,6 +54,13 @@ public class JreVersion implements Comparable<JreVersion> {
         return ret;
     }
 
+    /**
+     * @return Feature release number, 8 for 1.8.0_251 and 11 for 11.0.2, 0 if the version is not specified.
+     */
+    public int getFeature() {
+        return x2;
+    }
+
     @Override
     public String toString() {
         if (x2 >= 9) {
@@ -58,6 +58,20 @@ public class Msg implements IValidatable {
                 Messages.getString("Msg.instanceAlreadyExistsMsg"));
     }
 
+    /**
+     * @return Copy of the messages with the texts set in the overrides replaced.
+     */
+    public Msg merge(Msg overrides) {
+        Msg m = new Msg();
+        m.startupErr = overrides.startupErr != null ? overrides.startupErr : startupErr;
+        m.jreNotFoundErr = overrides.jreNotFoundErr != null ? overrides.jreNotFoundErr : jreNotFoundErr;
+        m.jreVersionErr = overrides.jreVersionErr != null ? overrides.jreVersionErr : jreVersionErr;
+        m.launcherErr = overrides.launcherErr != null ? overrides.launcherErr : launcherErr;
+        m.instanceAlreadyExistsMsg = overrides.instanceAlreadyExistsMsg != null ? overrides.instanceAlreadyExistsMsg
+                : instanceAlreadyExistsMsg;
+        return m;
+    }
+
     public String getStartupErr() {
         return !Validator.isEmpty(startupErr) ? startupErr : "An error occurred while starting the application.";
     }
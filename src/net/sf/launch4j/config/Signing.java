@@ -0,0 +1,212 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.config;
+
+import java.io.File;
+import java.util.List;
+
+import net.sf.launch4j.binding.IValidatable;
+import net.sf.launch4j.binding.Validator;
+
+/**
+ * Authenticode signing of the executable, either in-process with a keystore or with an external signing tool. The
+ * signing tool is run with the executable as its argument in place of %EXEFILE%, it either signs the file in place or
+ * writes the signed executable to %SIGNEDFILE%.
+ */
+public class Signing implements IValidatable {
+    public static final String EXEFILE = "%EXEFILE%";
+    public static final String SIGNEDFILE = "%SIGNEDFILE%";
+
+    public static final String[] DIGEST_ALGORITHMS = new String[] { "SHA-1", "SHA-256", "SHA-384", "SHA-512" };
+    public static final String[] TIMESTAMPING_MODES = new String[] { "AUTHENTICODE", "RFC3161" };
+
+    private File keystore;
+    private String storetype;
+    private String storepass;
+    private String alias;
+    private String keypass;
+    private String alg;
+    private String tsaurl;
+    private String tsmode;
+    private boolean offline;
+    private String name;
+    private String url;
+
+    private String tool;
+    private List<String> args;
+
+    public void checkInvariants() {
+        if (keystore != null) {
+            Validator.checkTrue(Validator.isEmpty(tool), "signing.tool", Messages.getString("Signing.tool.or.keystore"));
+            Validator.checkFile(keystore, "signing.keystore", Messages.getString("Signing.keystore"));
+            Validator.checkOptString(storetype, Validator.MAX_STR, "signing.storetype",
+                    Messages.getString("Signing.storetype"));
+            Validator.checkOptString(alias, Validator.MAX_STR, "signing.alias", Messages.getString("Signing.alias"));
+            if (!Validator.isEmpty(alg)) {
+                Validator.checkIn(alg, DIGEST_ALGORITHMS, "signing.alg", Messages.getString("Signing.alg"));
+            }
+            if (!Validator.isEmpty(tsmode)) {
+                Validator.checkIn(tsmode, TIMESTAMPING_MODES, "signing.tsmode", Messages.getString("Signing.tsmode"));
+            }
+            Validator.checkOptString(tsaurl, Validator.MAX_PATH, "signing.tsaurl", Messages.getString("Signing.tsaurl"));
+            Validator.checkOptString(name, Validator.MAX_STR, "signing.name", Messages.getString("Signing.name"));
+            Validator.checkOptString(url, Validator.MAX_PATH, "signing.url", Messages.getString("Signing.url"));
+        } else {
+            Validator.checkString(tool, Validator.MAX_PATH, "signing.tool", Messages.getString("Signing.tool"));
+            Validator.checkOptStrings(args, Validator.MAX_BIG_STR, Validator.MAX_BIG_STR, "signing.args",
+                    Messages.getString("Signing.args"));
+            Validator.checkTrue(args != null && args.contains(EXEFILE), "signing.args",
+                    Messages.getString("Signing.exefile"));
+        }
+    }
+
+    /** Keystore or PKCS#12 file used for in-process signing. */
+    public File getKeystore() {
+        return keystore;
+    }
+
+    public void setKeystore(File keystore) {
+        this.keystore = keystore;
+    }
+
+    /** Keystore type, JKS, JCEKS or PKCS12, derived from the file extension if not specified. */
+    public String getStoretype() {
+        return storetype;
+    }
+
+    public void setStoretype(String storetype) {
+        this.storetype = storetype;
+    }
+
+    public String getStorepass() {
+        return storepass;
+    }
+
+    public void setStorepass(String storepass) {
+        this.storepass = storepass;
+    }
+
+    /** Alias of the signing key, the first alias of the keystore if not specified. */
+    public String getAlias() {
+        return alias;
+    }
+
+    public void setAlias(String alias) {
+        this.alias = alias;
+    }
+
+    /** Password of the signing key, the keystore password if not specified. */
+    public String getKeypass() {
+        return keypass;
+    }
+
+    public void setKeypass(String keypass) {
+        this.keypass = keypass;
+    }
+
+    /** Digest algorithm. */
+    public String getAlg() {
+        return alg;
+    }
+
+    public void setAlg(String alg) {
+        this.alg = alg;
+    }
+
+    /** Timestamping authority URL. */
+    public String getTsaurl() {
+        return tsaurl;
+    }
+
+    public void setTsaurl(String tsaurl) {
+        this.tsaurl = tsaurl;
+    }
+
+    /** Timestamping mode, AUTHENTICODE or RFC3161. */
+    public String getTsmode() {
+        return tsmode;
+    }
+
+    public void setTsmode(String tsmode) {
+        this.tsmode = tsmode;
+    }
+
+    /** Don't timestamp the signature, for testing without network access. */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    /** Program name included in the signature. */
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /** Program URL included in the signature. */
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    /** Signing tool, such as osslsigncode or signtool. */
+    public String getTool() {
+        return tool;
+    }
+
+    public void setTool(String tool) {
+        this.tool = tool;
+    }
+
+    /** Signing tool arguments. */
+    public List<String> getArgs() {
+        return args;
+    }
+
+    public void setArgs(List<String> args) {
+        this.args = args;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.config;
+
+import java.io.File;
+
+import net.sf.launch4j.binding.IValidatable;
+import net.sf.launch4j.binding.Validator;
+
+/**
+ * Size breakdown of the built executable, written as JSON and/or HTML, and size budgets in kilobytes that fail the
+ * build when exceeded.
+ */
+public class SizeReport implements IValidatable {
+    private File json;
+    private File html;
+    private Integer maxSize;
+    private Integer maxResourcesSize;
+    private Integer maxJarSize;
+
+    public void checkInvariants() {
+        Validator.checkTrue(json != null || html != null || maxSize != null || maxResourcesSize != null
+                || maxJarSize != null, "sizeReport", Messages.getString("SizeReport.empty"));
+        checkBudget(maxSize, "sizeReport.maxSize", Messages.getString("SizeReport.max.size"));
+        checkBudget(maxResourcesSize, "sizeReport.maxResourcesSize",
+                Messages.getString("SizeReport.max.resources.size"));
+        checkBudget(maxJarSize, "sizeReport.maxJarSize", Messages.getString("SizeReport.max.jar.size"));
+    }
+
+    private void checkBudget(Integer budget, String property, String name) {
+        if (budget != null) {
+            Validator.checkMin(budget, 1, property, name);
+        }
+    }
+
+    /**
+     * @return Copy whose report files are named after the variant's output file, e.g. size-gui.json for gui.exe,
+     *         since the variants are built in parallel.
+     */
+    public SizeReport forVariant(File outfile) {
+        SizeReport report = new SizeReport();
+        report.json = getVariantFile(json, outfile);
+        report.html = getVariantFile(html, outfile);
+        report.maxSize = maxSize;
+        report.maxResourcesSize = maxResourcesSize;
+        report.maxJarSize = maxJarSize;
+        return report;
+    }
+
+    private File getVariantFile(File f, File outfile) {
+        if (f == null) {
+            return null;
+        }
+
+        String name = f.getName();
+        int x = name.lastIndexOf('.');
+        String variant = outfile.getName().replaceAll("(?i)\\.exe$", "");
+        return new File(f.getParentFile(), x != -1 ? name.substring(0, x) + "-" + variant + name.substring(x)
+                : name + "-" + variant);
+    }
+
+    /** JSON report file, relative to the configuration. Each variant writes its own, see forVariant(). */
+    public File getJson() {
+        return json;
+    }
+
+    public void setJson(File json) {
+        this.json = json;
+    }
+
+    /** HTML report file, relative to the configuration. Each variant writes its own, see forVariant(). */
+    public File getHtml() {
+        return html;
+    }
+
+    public void setHtml(File html) {
+        this.html = html;
+    }
+
+    /** Maximum size of the executable in KB. */
+    public Integer getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(Integer maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /** Maximum size of the resource section in KB. */
+    public Integer getMaxResourcesSize() {
+        return maxResourcesSize;
+    }
+
+    public void setMaxResourcesSize(Integer maxResourcesSize) {
+        this.maxResourcesSize = maxResourcesSize;
+    }
+
+    /** Maximum size of the wrapped jar in KB. */
+    public Integer getMaxJarSize() {
+        return maxJarSize;
+    }
+
+    public void setMaxJarSize(Integer maxJarSize) {
+        this.maxJarSize = maxJarSize;
+    }
+}
@@ -57,6 +57,7 @@ public class Splash implements IValidatable {
     private boolean waitForWindow = true;
     private int timeout = 60;
     private boolean timeoutErr = true;
+    private boolean rle;
 
     public void checkInvariants() {
         Validator.checkFile(file, "splash.file", Messages.getString("Splash.splash.file"));
@@ -98,4 +99,13 @@ public class Splash implements IValidatable {
     public void setWaitForWindow(boolean waitForWindow) {
         this.waitForWindow = waitForWindow;
     }
+
+    /** Compress the splash screen with RLE when images are optimized. */
+    public boolean isRle() {
+        return rle;
+    }
+
+    public void setRle(boolean rle) {
+        this.rle = rle;
+    }
 }
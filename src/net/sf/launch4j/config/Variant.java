@@ -0,0 +1,195 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.config;
+
+import java.io.File;
+import java.util.List;
+
+import net.sf.launch4j.binding.IValidatable;
+import net.sf.launch4j.binding.Validator;
+
+/**
+ * Variant of the executable built from the same configuration, overriding the output file and optionally the header
+ * type, JRE options, version information and messages, e.g. for a localized release. Properties left unset are
+ * inherited from the configuration.
+ */
+public class Variant implements IValidatable {
+    private File outfile;
+    private String headerType;
+    private Integer initialHeapSize;
+    private Integer initialHeapPercent;
+    private Integer maxHeapSize;
+    private Integer maxHeapPercent;
+    private List<String> options;
+    private VersionInfo versionInfo;
+    private Msg messages;
+
+    public void checkInvariants() {
+        Validator.checkTrue(outfile != null && outfile.getPath().endsWith(".exe"), "variants",
+                Messages.getString("Variant.specify.output.exe"));
+    }
+
+    /**
+     * @return Copy of the configuration with the overrides applied, the configuration itself is left unchanged.
+     */
+    public Config apply(Config c) {
+        Config variant = c.copy();
+        variant.setOutfile(outfile);
+
+        if (c.getSizeReport() != null) {
+            variant.setSizeReport(c.getSizeReport().forVariant(outfile));
+        }
+
+        if (headerType != null) {
+            variant.setHeaderType(headerType);
+        }
+
+        if (c.getJre() != null && (initialHeapSize != null || initialHeapPercent != null || maxHeapSize != null
+                || maxHeapPercent != null || options != null)) {
+            Jre jre = c.getJre().copy();
+
+            if (initialHeapSize != null) {
+                jre.setInitialHeapSize(initialHeapSize);
+            }
+
+            if (initialHeapPercent != null) {
+                jre.setInitialHeapPercent(initialHeapPercent);
+            }
+
+            if (maxHeapSize != null) {
+                jre.setMaxHeapSize(maxHeapSize);
+            }
+
+            if (maxHeapPercent != null) {
+                jre.setMaxHeapPercent(maxHeapPercent);
+            }
+
+            if (options != null) {
+                jre.setOptions(options);
+            }
+
+            variant.setJre(jre);
+        }
+
+        if (versionInfo != null) {
+            variant.setVersionInfo(c.getVersionInfo() != null ? c.getVersionInfo().merge(versionInfo) : versionInfo);
+        }
+
+        if (messages != null) {
+            variant.setMessages(c.getMessages() != null ? c.getMessages().merge(messages) : messages);
+        }
+
+        return variant;
+    }
+
+    /** Output EXE file of the variant. */
+    public File getOutfile() {
+        return outfile;
+    }
+
+    public void setOutfile(File outfile) {
+        this.outfile = outfile;
+    }
+
+    /** Header type of the variant, inherited if not set. */
+    public String getHeaderType() {
+        return headerType;
+    }
+
+    public void setHeaderType(String headerType) {
+        this.headerType = headerType;
+    }
+
+    public Integer getInitialHeapSize() {
+        return initialHeapSize;
+    }
+
+    public void setInitialHeapSize(Integer initialHeapSize) {
+        this.initialHeapSize = initialHeapSize;
+    }
+
+    public Integer getInitialHeapPercent() {
+        return initialHeapPercent;
+    }
+
+    public void setInitialHeapPercent(Integer initialHeapPercent) {
+        this.initialHeapPercent = initialHeapPercent;
+    }
+
+    public Integer getMaxHeapSize() {
+        return maxHeapSize;
+    }
+
+    public void setMaxHeapSize(Integer maxHeapSize) {
+        this.maxHeapSize = maxHeapSize;
+    }
+
+    public Integer getMaxHeapPercent() {
+        return maxHeapPercent;
+    }
+
+    public void setMaxHeapPercent(Integer maxHeapPercent) {
+        this.maxHeapPercent = maxHeapPercent;
+    }
+
+    /** JVM options replacing the inherited ones. */
+    public List<String> getOptions() {
+        return options;
+    }
+
+    public void setOptions(List<String> options) {
+        this.options = options;
+    }
+
+    /** Version information overrides, e.g. the language and localized strings. */
+    public VersionInfo getVersionInfo() {
+        return versionInfo;
+    }
+
+    public void setVersionInfo(VersionInfo versionInfo) {
+        this.versionInfo = versionInfo;
+    }
+
+    /** Message overrides. */
+    public Msg getMessages() {
+        return messages;
+    }
+
+    public void setMessages(Msg messages) {
+        this.messages = messages;
+    }
+}
@@ -87,6 +87,26 @@ public class VersionInfo implements IValidatable {
                 Messages.getString("VersionInfo.original.filename.exe"));
     }
 
+    /**
+     * @return Copy of the version information with the values set in the overrides replaced.
+     */
+    public VersionInfo merge(VersionInfo overrides) {
+        VersionInfo v = new VersionInfo();
+        v.fileVersion = overrides.fileVersion != null ? overrides.fileVersion : fileVersion;
+        v.txtFileVersion = overrides.txtFileVersion != null ? overrides.txtFileVersion : txtFileVersion;
+        v.fileDescription = overrides.fileDescription != null ? overrides.fileDescription : fileDescription;
+        v.copyright = overrides.copyright != null ? overrides.copyright : copyright;
+        v.productVersion = overrides.productVersion != null ? overrides.productVersion : productVersion;
+        v.txtProductVersion = overrides.txtProductVersion != null ? overrides.txtProductVersion : txtProductVersion;
+        v.productName = overrides.productName != null ? overrides.productName : productName;
+        v.companyName = overrides.companyName != null ? overrides.companyName : companyName;
+        v.internalName = overrides.internalName != null ? overrides.internalName : internalName;
+        v.originalFilename = overrides.originalFilename != null ? overrides.originalFilename : originalFilename;
+        v.trademarks = overrides.trademarks != null ? overrides.trademarks : trademarks;
+        v.language = overrides.language != null ? overrides.language : language;
+        return v;
+    }
+
     public String getCompanyName() {
         return companyName;
     }
@@ -53,6 +53,7 @@ import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 
 import net.sf.launch4j.FileChooserFilter;
+import net.sf.launch4j.JarAnalyzer;
 import net.sf.launch4j.binding.Bindings;
 import net.sf.launch4j.binding.Validator;
 import net.sf.launch4j.config.ClassPath;
@@ -189,10 +190,11 @@ public class ClassPathFormImpl extends ClassPathForm {
                 _fileChooser.setFileFilter(_filter);
                 _fileChooser.setSelectedFile(new File(""));
                 if (_fileChooser.showOpenDialog(MainFrame.getInstance()) == JFileChooser.APPROVE_OPTION) {
-                    JarFile jar = new JarFile(_fileChooser.getSelectedFile());
+                    File file = _fileChooser.getSelectedFile();
+                    JarFile jar = new JarFile(file);
                     if (jar.getManifest() == null) {
                         jar.close();
-                        MainFrame.getInstance().info(Messages.getString("noManifest"));
+                        analyze(file);
                         return;
                     }
                     Attributes attr = jar.getManifest().getMainAttributes();
@@ -208,10 +210,18 @@ public class ClassPathFormImpl extends ClassPathForm {
                         }
                     }
                     _classpathList.setModel(model);
+                    analyze(file);
                 }
             } catch (IOException ex) {
                 MainFrame.getInstance().warn(ex.getMessage());
             }
         }
+
+        /**
+         * The manifest is imported right away, the class files are scanned in the background.
+         */
+        private void analyze(File file) {
+            new JarAnalysisDialog(new JarAnalyzer(file), _mainclassField, _classpathList).start();
+        }
     }
 }
@@ -36,9 +36,17 @@
  */
 package net.sf.launch4j.formimpl;
 
+import java.awt.BorderLayout;
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.swing.BorderFactory;
+import javax.swing.JComponent;
 import javax.swing.JFileChooser;
+import javax.swing.JPanel;
 import javax.swing.JTextArea;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 
 import net.sf.launch4j.binding.Binding;
 import net.sf.launch4j.binding.Bindings;
@@ -46,34 +54,103 @@ import net.sf.launch4j.binding.IValidatable;
 import net.sf.launch4j.form.ConfigForm;
 
 /**
+ * Only the first tab is created at startup, the others and their bindings are created when first selected and get the
+ * state of the last clear or put. All tabs are created before the components are copied to the bean, because the
+ * defaults of a cleared form may differ from a blank configuration.
+ *
  * @author Copyright (C) 2005 Grzegorz Kowal
  */
 public class ConfigFormImpl extends ConfigForm {
     private final Bindings _bindings = new Bindings();
     private final JFileChooser _fileChooser = new FileChooser(ConfigFormImpl.class);
+    private final List<LazyTab> _lazyTabs = new ArrayList<LazyTab>();
+    private final LiveValidator _validator = new LiveValidator(_bindings);
+    private IValidatable _bean;
+    private boolean _cleared;
 
     public ConfigFormImpl() {
         _tab.setBorder(BorderFactory.createMatteBorder(0, -1, -1, -1, getBackground()));
         _tab.addTab(Messages.getString("tab.basic"), new BasicFormImpl(_bindings, _fileChooser));
-        _tab.addTab(Messages.getString("tab.classpath"), new ClassPathFormImpl(_bindings, _fileChooser));
-        _tab.addTab(Messages.getString("tab.header"), new HeaderFormImpl(_bindings));
-        _tab.addTab(Messages.getString("tab.singleInstance"), new SingleInstanceFormImpl(_bindings));
-        _tab.addTab(Messages.getString("tab.jre"), new JreFormImpl(_bindings, _fileChooser));
-        _tab.addTab(Messages.getString("tab.envVars"), new EnvironmentVarsFormImpl(_bindings));
-        _tab.addTab(Messages.getString("tab.splash"), new SplashFormImpl(_bindings, _fileChooser));
-        _tab.addTab(Messages.getString("tab.version"), new VersionInfoFormImpl(_bindings, _fileChooser));
-        _tab.addTab(Messages.getString("tab.messages"), new MessagesFormImpl(_bindings));
+        addTab("tab.classpath", new LazyTab() {
+            protected JComponent create() {
+                return new ClassPathFormImpl(_bindings, _fileChooser);
+            }
+        });
+        addTab("tab.header", new LazyTab() {
+            protected JComponent create() {
+                return new HeaderFormImpl(_bindings);
+            }
+        });
+        addTab("tab.singleInstance", new LazyTab() {
+            protected JComponent create() {
+                return new SingleInstanceFormImpl(_bindings);
+            }
+        });
+        addTab("tab.jre", new LazyTab() {
+            protected JComponent create() {
+                return new JreFormImpl(_bindings, _fileChooser);
+            }
+        });
+        addTab("tab.envVars", new LazyTab() {
+            protected JComponent create() {
+                return new EnvironmentVarsFormImpl(_bindings);
+            }
+        });
+        addTab("tab.splash", new LazyTab() {
+            protected JComponent create() {
+                return new SplashFormImpl(_bindings, _fileChooser);
+            }
+        });
+        addTab("tab.version", new LazyTab() {
+            protected JComponent create() {
+                return new VersionInfoFormImpl(_bindings, _fileChooser);
+            }
+        });
+        addTab("tab.messages", new LazyTab() {
+            protected JComponent create() {
+                return new MessagesFormImpl(_bindings);
+            }
+        });
+        _tab.addChangeListener(new ChangeListener() {
+            public void stateChanged(ChangeEvent e) {
+                Object selected = _tab.getSelectedComponent();
+
+                for (LazyTab tab : _lazyTabs) {
+                    if (tab == selected) {
+                        tab.createContent();
+                    }
+                }
+            }
+        });
+    }
+
+    private void addTab(String key, LazyTab tab) {
+        _lazyTabs.add(tab);
+        _tab.addTab(Messages.getString(key), tab);
+    }
+
+    private void createAllTabs() {
+        for (LazyTab tab : _lazyTabs) {
+            tab.createContent();
+        }
     }
 
     public void clear(IValidatable bean) {
+        _bean = bean;
+        _cleared = true;
         _bindings.clear(bean);
+        _validator.reset(bean);
     }
 
     public void put(IValidatable bean) {
+        _bean = bean;
+        _cleared = false;
         _bindings.put(bean);
+        _validator.reset(bean);
     }
 
     public void get(IValidatable bean) {
+        createAllTabs();
         _bindings.get(bean);
     }
 
@@ -85,7 +162,35 @@ public class ConfigFormImpl extends ConfigForm {
         return _logTextArea;
     }
 
+    /**
+     * @return Binding of the property, null if its tab was not created yet.
+     */
     public Binding getBinding(String property) {
         return _bindings.getBinding(property);
     }
+
+    private abstract class LazyTab extends JPanel {
+        private boolean _created;
+
+        public LazyTab() {
+            super(new BorderLayout());
+        }
+
+        protected abstract JComponent create();
+
+        public void createContent() {
+            if (_created) {
+                return;
+            }
+
+            _created = true;
+            add(create(), BorderLayout.CENTER);
+
+            if (_bean != null) {
+                _bindings.initNew(_bean, _cleared);
+            }
+
+            revalidate();
+        }
+    }
 }
@@ -0,0 +1,256 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.formimpl;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListModel;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.WindowConstants;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+
+import net.sf.launch4j.JarAnalyzer;
+
+/**
+ * Scans an imported jar in the background, the main classes are listed as they are found and the Class-Path
+ * entries are reported once the scan is complete. Closing the dialog stops the scan.
+ */
+class JarAnalysisDialog extends JDialog {
+    private static final int PROGRESS_MILLIS = 200;
+
+    private final JarAnalyzer _analyzer;
+    private final JTextField _mainclassField;
+    private final JList<String> _classpathList;
+    private final JLabel _statusLabel = new JLabel(" ");
+    private final DefaultListModel<String> _mainClasses = new DefaultListModel<String>();
+    private final JList<String> _mainClassList = new JList<String>(_mainClasses);
+    private final JTextArea _reportArea = new JTextArea(5, 40);
+    private final JButton _useButton = new JButton(Messages.getString("JarAnalysisDialog.use"));
+    private final JButton _removeButton = new JButton(Messages.getString("JarAnalysisDialog.remove.unreferenced"));
+    private final Timer _progressTimer;
+    private final AnalysisWorker _worker = new AnalysisWorker();
+
+    public JarAnalysisDialog(JarAnalyzer analyzer, JTextField mainclassField, JList<String> classpathList) {
+        super(MainFrame.getInstance(), Messages.getString("JarAnalysisDialog.title") + analyzer.getJar().getName());
+        _analyzer = analyzer;
+        _mainclassField = mainclassField;
+        _classpathList = classpathList;
+
+        _mainClassList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        _mainClassList.addListSelectionListener(new ListSelectionListener() {
+            public void valueChanged(ListSelectionEvent e) {
+                _useButton.setEnabled(!_mainClassList.isSelectionEmpty());
+            }
+        });
+        _mainClassList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && !_mainClassList.isSelectionEmpty()) {
+                    useMainClass();
+                }
+            }
+        });
+        _reportArea.setEditable(false);
+        _useButton.setEnabled(false);
+        _useButton.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                useMainClass();
+            }
+        });
+        _removeButton.setEnabled(false);
+        _removeButton.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                removeUnreferenced();
+            }
+        });
+        JButton closeButton = new JButton(Messages.getString("JarAnalysisDialog.close"));
+        closeButton.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                dispose();
+            }
+        });
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(_useButton);
+        buttons.add(_removeButton);
+        buttons.add(closeButton);
+        JPanel south = new JPanel(new BorderLayout(0, 5));
+        south.add(new JScrollPane(_reportArea), BorderLayout.CENTER);
+        south.add(buttons, BorderLayout.SOUTH);
+        JPanel content = new JPanel(new BorderLayout(0, 5));
+        content.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        content.add(_statusLabel, BorderLayout.NORTH);
+        content.add(new JScrollPane(_mainClassList), BorderLayout.CENTER);
+        content.add(south, BorderLayout.SOUTH);
+        setContentPane(content);
+
+        setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                _progressTimer.stop();
+                _worker.cancel(true);
+            }
+        });
+        _progressTimer = new Timer(PROGRESS_MILLIS, new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                _statusLabel.setText(Messages.getString("JarAnalysisDialog.scanning") + _analyzer.getScannedCount()
+                        + " / " + _analyzer.getClassCount());
+            }
+        });
+        setSize(500, 400);
+        setLocationRelativeTo(MainFrame.getInstance());
+    }
+
+    public void start() {
+        setVisible(true);
+        _progressTimer.start();
+        _worker.execute();
+    }
+
+    private void useMainClass() {
+        _mainclassField.setText(_mainClassList.getSelectedValue());
+    }
+
+    private void removeUnreferenced() {
+        if (!MainFrame.getInstance().confirm(Messages.getString("confirmClassPathRemoval"))) {
+            return;
+        }
+        DefaultListModel<String> model = (DefaultListModel<String>) _classpathList.getModel();
+        for (String path : _analyzer.getUnreferencedClassPath()) {
+            model.removeElement(path);
+        }
+        _removeButton.setEnabled(false);
+    }
+
+    private void report() {
+        StringBuilder sb = new StringBuilder();
+        if (_analyzer.getModuleName() != null) {
+            sb.append(Messages.getString("JarAnalysisDialog.module")).append(_analyzer.getModuleName());
+        } else {
+            sb.append(Messages.getString("JarAnalysisDialog.no.module"));
+        }
+        if (!_analyzer.hasManifest()) {
+            sb.append('\n').append(Messages.getString("noManifest"));
+        } else if (_analyzer.getClassPath().isEmpty()) {
+            sb.append('\n').append(Messages.getString("JarAnalysisDialog.no.classpath"));
+        }
+        appendPaths(sb, "JarAnalysisDialog.referenced", _analyzer.getReferencedClassPath());
+        appendPaths(sb, "JarAnalysisDialog.unreferenced", _analyzer.getUnreferencedClassPath());
+        appendPaths(sb, "JarAnalysisDialog.missing", _analyzer.getMissingClassPath());
+        _reportArea.setText(sb.toString());
+        _reportArea.setCaretPosition(0);
+    }
+
+    private void appendPaths(StringBuilder sb, String key, List<String> paths) {
+        if (paths.isEmpty()) {
+            return;
+        }
+        sb.append('\n').append(Messages.getString(key));
+        for (int i = 0; i < paths.size(); i++) {
+            sb.append(i > 0 ? ", " : "").append(paths.get(i));
+        }
+    }
+
+    /**
+     * Streams the main classes into the list, they are sorted once the scan is complete.
+     */
+    private class AnalysisWorker extends SwingWorker<JarAnalyzer, String> implements JarAnalyzer.Listener {
+        public void mainClassFound(String className) {
+            publish(className);
+        }
+
+        @Override
+        protected JarAnalyzer doInBackground() throws Exception {
+            return _analyzer.analyze(this);
+        }
+
+        @Override
+        protected void process(List<String> chunks) {
+            for (String className : chunks) {
+                _mainClasses.addElement(className);
+            }
+        }
+
+        @Override
+        protected void done() {
+            _progressTimer.stop();
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                get();
+                String selected = _mainClassList.getSelectedValue();
+                _mainClasses.clear();
+                for (String className : _analyzer.getMainClasses()) {
+                    _mainClasses.addElement(className);
+                }
+                _mainClassList.setSelectedValue(selected != null ? selected : _analyzer.getManifestMainClass(), true);
+                _statusLabel.setText(_analyzer.getClassCount() + Messages.getString("JarAnalysisDialog.classes")
+                        + _mainClasses.size());
+                _removeButton.setEnabled(!_analyzer.getUnreferencedClassPath().isEmpty());
+                report();
+            } catch (InterruptedException ex) {
+                // dialog closed
+            } catch (ExecutionException ex) {
+                _statusLabel.setText(ex.getCause().getMessage() != null ? ex.getCause().getMessage()
+                        : ex.getCause().toString());
+            }
+        }
+    }
+}
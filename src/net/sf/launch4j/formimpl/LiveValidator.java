@@ -0,0 +1,149 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.formimpl;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import net.sf.launch4j.binding.BindingException;
+import net.sf.launch4j.binding.Bindings;
+import net.sf.launch4j.binding.IValidatable;
+import net.sf.launch4j.binding.InvariantViolationException;
+import net.sf.launch4j.binding.Validator;
+import net.sf.launch4j.config.Config;
+
+/**
+ * Validates the modified form in the background. A pass starts after a pause in typing, checks a copy of the
+ * configuration and marks all invalid fields at once. The results of a pass overtaken by newer modifications are
+ * dropped. File existence is cached for a few seconds, so that slow file systems don't delay the passes.
+ */
+class LiveValidator implements ChangeListener, ActionListener {
+    private static final int DELAY_MILLIS = 400;
+    private static final int FILE_CACHE_MILLIS = 3000;
+
+    private final Bindings _bindings;
+    private final Timer _timer = new Timer(DELAY_MILLIS, this);
+    private final ExecutorService _executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "launch4j-validator");
+            t.setDaemon(true);
+            return t;
+        }
+    });
+    private Config _config;
+    private int _generation;
+
+    // Used by the validator thread only
+    private final Map<File, Boolean> _existing = new HashMap<File, Boolean>();
+    private long _existingTime;
+
+    public LiveValidator(Bindings bindings) {
+        _bindings = bindings;
+        _timer.setRepeats(false);
+        bindings.setChangeListener(this);
+    }
+
+    /**
+     * Clears the marks and validates copies of the configuration after the next modification.
+     */
+    public void reset(IValidatable bean) {
+        _config = bean instanceof Config ? (Config) bean : null;
+        _generation++;
+        _timer.stop();
+        _bindings.mark(Collections.<InvariantViolationException> emptyList());
+    }
+
+    public void stateChanged(ChangeEvent e) {
+        if (_config != null) {
+            _timer.restart();
+        }
+    }
+
+    public void actionPerformed(ActionEvent e) {
+        if (_config == null || !_bindings.isModified()) {
+            return;
+        }
+
+        final List<IValidatable> beans;
+        try {
+            Config c = _config.copy();
+            if (c.getJre() != null) {
+                c.setJre(c.getJre().copy());
+            }
+            beans = _bindings.copy(c);
+        } catch (BindingException ex) {
+            return;
+        }
+
+        final int generation = ++_generation;
+        _executor.execute(new Runnable() {
+            public void run() {
+                final List<InvariantViolationException> violations = Validator.collectViolations(beans,
+                        getExisting());
+                SwingUtilities.invokeLater(new Runnable() {
+                    public void run() {
+                        if (generation == _generation) {
+                            _bindings.mark(violations);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private Map<File, Boolean> getExisting() {
+        long now = System.currentTimeMillis();
+        if (now - _existingTime > FILE_CACHE_MILLIS) {
+            _existing.clear();
+            _existingTime = now;
+        }
+        return _existing;
+    }
+}
@@ -37,26 +37,38 @@
 package net.sf.launch4j.formimpl;
 
 import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Container;
 import java.awt.Dimension;
+import java.awt.Graphics;
 import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
+import javax.swing.AbstractButton;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
+import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JToolBar;
 import javax.swing.SwingWorker;
 import javax.swing.UIManager;
+import javax.swing.text.JTextComponent;
 
 import com.formdev.flatlaf.FlatLightLaf;
 
+import net.sf.launch4j.BuildListener;
 import net.sf.launch4j.Builder;
 import net.sf.launch4j.BuilderException;
 import net.sf.launch4j.ExecException;
@@ -78,10 +90,14 @@ public class MainFrame extends JFrame {
 
     private final JToolBar _toolBar;
     private final JButton _runButton;
+    private final JButton _cancelButton;
     private final ConfigFormImpl _configForm;
-    private final JFileChooser _fileChooser = new FileChooser(MainFrame.class);
+    private JFileChooser _fileChooser;
+    private boolean _painted;
     private File _outfile;
     private boolean _saved = false;
+    private BuildWorker _buildWorker;
+    private final List<Component> _disabled = new ArrayList<Component>();
 
     public static void createInstance() {
         try {
@@ -101,8 +117,6 @@ public class MainFrame extends JFrame {
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         addWindowListener(new MainFrameListener());
         setGlassPane(new GlassPane(this));
-        _fileChooser.setFileFilter(
-                new FileChooserFilter(Messages.getString("MainFrame.config.files"), new String[] { ".xml" }));
 
         _toolBar = new JToolBar();
         _toolBar.setFloatable(false);
@@ -119,6 +133,9 @@ public class MainFrame extends JFrame {
         _runButton = addButton(getLocalIcon("images/run.png"), Messages.getString("MainFrame.test.wrapper"),
                 new RunActionListener());
         setRunEnabled(false);
+        _cancelButton = addButton(null, Messages.getString("MainFrame.cancel.build"), new CancelActionListener());
+        _cancelButton.setText(Messages.getString("MainFrame.cancel"));
+        _cancelButton.setEnabled(false);
         _toolBar.addSeparator();
         addButton(UIManager.getIcon("HelpButton.icon"), Messages.getString("MainFrame.about.launch4j"),
                 new AboutActionListener());
@@ -136,6 +153,32 @@ public class MainFrame extends JFrame {
         setVisible(true);
     }
 
+    /**
+     * Reports the time from the JVM start to the first paint of the window.
+     */
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (!_painted) {
+            _painted = true;
+            long millis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            Log.getSwingLog(_configForm.getLogTextArea())
+                    .append(Messages.getString("MainFrame.first.paint") + millis + " ms");
+        }
+    }
+
+    /**
+     * Created on first use, a file chooser is slow to create.
+     */
+    private JFileChooser getFileChooser() {
+        if (_fileChooser == null) {
+            _fileChooser = new FileChooser(MainFrame.class);
+            _fileChooser.setFileFilter(
+                    new FileChooserFilter(Messages.getString("MainFrame.config.files"), new String[] { ".xml" }));
+        }
+        return _fileChooser;
+    }
+
     private ImageIcon getLocalIcon(String iconPath) {
         return new ImageIcon(MainFrame.class.getClassLoader().getResource(iconPath));
     }
@@ -177,10 +220,13 @@ public class MainFrame extends JFrame {
     }
 
     private boolean save() {
+        if (ConfigPersister.getInstance().isInherited() && !confirm(Messages.getString("MainFrame.save.inherited"))) {
+            return false;
+        }
         try {
             _configForm.get(ConfigPersister.getInstance().getConfig());
-            if (_fileChooser.showSaveDialog(MainFrame.this) == JOptionPane.YES_OPTION) {
-                File f = _fileChooser.getSelectedFile();
+            if (getFileChooser().showSaveDialog(MainFrame.this) == JOptionPane.YES_OPTION) {
+                File f = getFileChooser().getSelectedFile();
                 if (!f.getPath().endsWith(".xml")) {
                     f = new File(f.getPath() + ".xml");
                 }
@@ -214,6 +260,38 @@ public class MainFrame extends JFrame {
         _runButton.setEnabled(enabled);
     }
 
+    /**
+     * Disables the toolbar and the form controls during a build, except for Cancel and the log, then restores them.
+     */
+    private void setBuilding(boolean building) {
+        for (Component c : _toolBar.getComponents()) {
+            c.setEnabled(c == _cancelButton ? building : !building);
+        }
+
+        if (building) {
+            disableControls(_configForm);
+        } else {
+            for (Component c : _disabled) {
+                c.setEnabled(true);
+            }
+            _disabled.clear();
+        }
+    }
+
+    private void disableControls(Container container) {
+        for (Component c : container.getComponents()) {
+            if (c instanceof AbstractButton || c instanceof JComboBox || c instanceof JList
+                    || (c instanceof JTextComponent && c != _configForm.getLogTextArea())) {
+                if (c.isEnabled()) {
+                    c.setEnabled(false);
+                    _disabled.add(c);
+                }
+            } else if (c instanceof Container) {
+                disableControls((Container) c);
+            }
+        }
+    }
+
     private void clearConfig() {
         ConfigPersister.getInstance().createBlank();
         _configForm.clear(ConfigPersister.getInstance().getConfig());
@@ -225,7 +303,9 @@ public class MainFrame extends JFrame {
         }
 
         public void windowClosing(WindowEvent e) {
-            if (canDiscardChanges()) {
+            if (_buildWorker != null) {
+                _buildWorker.stop();
+            } else if (canDiscardChanges()) {
                 dispose();
                 System.exit(0);
             }
@@ -246,8 +326,9 @@ public class MainFrame extends JFrame {
     private class OpenActionListener implements ActionListener {
         public void actionPerformed(ActionEvent e) {
             try {
-                if (canDiscardChanges() && _fileChooser.showOpenDialog(MainFrame.this) == JOptionPane.YES_OPTION) {
-                    final File f = _fileChooser.getSelectedFile();
+                if (canDiscardChanges()
+                        && getFileChooser().showOpenDialog(MainFrame.this) == JOptionPane.YES_OPTION) {
+                    final File f = getFileChooser().getSelectedFile();
                     ConfigPersister.getInstance().load(f);
                     _saved = true;
                     _configForm.put(ConfigPersister.getInstance().getConfig());
@@ -277,20 +358,82 @@ public class MainFrame extends JFrame {
                 }
                 log.clear();
                 ConfigPersister.getInstance().getConfig().checkInvariants();
-                Builder b = new Builder(log);
-                _outfile = b.build();
-                setRunEnabled(ConfigPersister.getInstance().getConfig().isGuiApplication()
-                        // TODO fix console app test
-                        && (Util.WINDOWS_OS || !ConfigPersister.getInstance().getConfig().isDontWrapJar()));
+                _buildWorker = new BuildWorker(log);
+                setBuilding(true);
+                _buildWorker.execute();
             } catch (InvariantViolationException ex) {
                 setRunEnabled(false);
                 ex.setBinding(_configForm.getBinding(ex.getProperty()));
                 warn(ex);
-            } catch (BuilderException ex) {
+            }
+        }
+    }
+
+    private class CancelActionListener implements ActionListener {
+        public void actionPerformed(ActionEvent e) {
+            if (_buildWorker != null) {
+                _buildWorker.stop();
+            }
+        }
+    }
+
+    /**
+     * Builds off the event dispatch thread and logs the time of each finished phase.
+     */
+    private class BuildWorker extends SwingWorker<File, Void> implements BuildListener {
+        private final Log _log;
+        private final Builder _builder;
+        private volatile boolean _stopped;
+
+        public BuildWorker(Log log) {
+            _log = log;
+            _builder = new Builder(log);
+            _builder.setBuildListener(this);
+        }
+
+        /**
+         * The builder stops and cleans up on its own, so the worker is not cancelled.
+         */
+        public void stop() {
+            _stopped = true;
+            _cancelButton.setEnabled(false);
+            _builder.cancel();
+        }
+
+        @Override
+        protected File doInBackground() throws BuilderException {
+            return _builder.build();
+        }
+
+        @Override
+        protected void done() {
+            _buildWorker = null;
+            setBuilding(false);
+            try {
+                _outfile = get();
+                setRunEnabled(ConfigPersister.getInstance().getConfig().isGuiApplication()
+                        // TODO fix console app test
+                        && (Util.WINDOWS_OS || !ConfigPersister.getInstance().getConfig().isDontWrapJar()));
+            } catch (InterruptedException ex) {
+                setRunEnabled(false);
+            } catch (ExecutionException ex) {
                 setRunEnabled(false);
-                log.append(ex.getMessage());
+                Throwable cause = ex.getCause();
+                if (!_stopped) {
+                    _log.append(cause instanceof BuilderException ? cause.getMessage() : cause.toString());
+                }
             }
         }
+
+        public void phaseStarted(String phase) {}
+
+        public void phaseFinished(String phase, long millis) {
+            _log.append(Messages.getString("MainFrame.phase.finished") + phase + " (" + millis + " ms)");
+        }
+
+        public void processFinished(String command, long millis) {}
+
+        public void fileWritten(File file, long bytes) {}
     }
 
     private class RunActionListener implements ActionListener {
@@ -0,0 +1,183 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.pe;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import net.sf.launch4j.Util;
+
+/**
+ * Optional header checksum of a PE image, the 16 bit one's complement sum of the file
+ * with the checksum field skipped, plus the file length. Computed incrementally from
+ * the bytes of the file in order.
+ */
+public class PeChecksum {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final long _checksumOffset;
+    private long _sum;
+    private long _length;
+    private int _low;
+
+    public PeChecksum(long checksumOffset) {
+        _checksumOffset = checksumOffset;
+    }
+
+    /**
+     * Adds the remaining bytes of the buffer, which follow the bytes added so far.
+     * The buffer position is not changed.
+     */
+    public void update(ByteBuffer b) {
+        ByteBuffer d = b.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        while (d.hasRemaining()) {
+            if ((_length & 1) == 0 && d.remaining() >= 2
+                    && (_length + 1 < _checksumOffset || _length >= _checksumOffset + 4)) {
+                // The sum is folded once at the end, a long can't overflow for files below 2^47 bytes
+                _sum += d.getShort() & 0xFFFF;
+                _length += 2;
+                continue;
+            }
+
+            int v = d.get() & 0xFF;
+
+            if (_length >= _checksumOffset && _length < _checksumOffset + 4) {
+                v = 0;
+            }
+
+            if ((_length & 1) == 0) {
+                _low = v;
+            } else {
+                _sum += _low | v << 8;
+            }
+
+            _length++;
+        }
+    }
+
+    public long getLength() {
+        return _length;
+    }
+
+    public long getValue() {
+        long sum = (_length & 1) != 0 ? _sum + _low : _sum;
+
+        while ((sum >>> 16) != 0) {
+            sum = (sum & 0xFFFF) + (sum >>> 16);
+        }
+
+        return (sum + _length) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Streams the file through a fixed size buffer.
+     */
+    public static long compute(FileChannel ch, int checksumOffset) throws IOException {
+        PeChecksum checksum = new PeChecksum(checksumOffset);
+        ByteBuffer b = ByteBuffer.allocate(BUFFER_SIZE);
+
+        long pos = 0;
+        int n;
+
+        while ((n = ch.read(b, pos)) > 0) {
+            b.flip();
+            checksum.update(b);
+            b.clear();
+            pos += n;
+        }
+
+        return checksum.getValue();
+    }
+
+    public static long compute(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+        try {
+            FileChannel ch = raf.getChannel();
+            return compute(ch, getChecksumOffset(ch));
+        } finally {
+            Util.close(raf);
+        }
+    }
+
+    /**
+     * Recomputes the checksum and stores it in the optional header.
+     *
+     * @return The new checksum.
+     */
+    public static long update(FileChannel ch) throws IOException {
+        int offset = getChecksumOffset(ch);
+        long checksum = compute(ch, offset);
+        write(ch, offset, checksum);
+        return checksum;
+    }
+
+    public static long update(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+
+        try {
+            return update(raf.getChannel());
+        } finally {
+            Util.close(raf);
+        }
+    }
+
+    static void write(FileChannel ch, long checksumOffset, long checksum) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        b.putInt(0, (int) checksum);
+
+        while (b.hasRemaining()) {
+            ch.write(b, checksumOffset + b.position());
+        }
+    }
+
+    static int getChecksumOffset(FileChannel ch) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (ch.read(b, 0x3C) != 4) {
+            throw new IOException(Messages.getString("PeImage.not.pe", ""));
+        }
+
+        // PE signature, COFF header, then the checksum at offset 64 of the optional header
+        return b.getInt(0) + 4 + 20 + 64;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.pe;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import net.sf.launch4j.Util;
+
+/**
+ * Computes the PE checksum and the Authenticode digest of an image in a single pass,
+ * from the bytes passed to {@link #update(ByteBuffer)} in file order, so that they can
+ * be fed while the image is being written.
+ * <p>
+ * The Authenticode digest skips the checksum field, the certificate table entry of the
+ * data directory and the certificate table itself, like signing tools do.
+ */
+public class PeDigester {
+    public static final String DEFAULT_ALGORITHM = "SHA-256";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final long _checksumOffset;
+    private final long _certificateEntryOffset;
+    private final long _certificatesOffset;
+    private final long _certificatesSize;
+    private final PeChecksum _checksum;
+    private final MessageDigest _digest;
+    private long _length;
+
+    /**
+     * @param headers The beginning of the image, at least up to the end of the data directory.
+     */
+    public PeDigester(ByteBuffer headers, String algorithm) throws IOException {
+        PeImage pe = new PeImage(headers);
+        _checksumOffset = pe.getChecksumOffset();
+        _certificateEntryOffset = pe.getDataDirectoryOffset(PeImage.CERTIFICATE_TABLE);
+        _certificatesOffset = pe.getDataDirectoryAddress(PeImage.CERTIFICATE_TABLE);
+        _certificatesSize = pe.getDataDirectorySize(PeImage.CERTIFICATE_TABLE);
+        _checksum = new PeChecksum(_checksumOffset);
+
+        try {
+            _digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(Messages.getString("PeDigester.algorithm", algorithm), e);
+        }
+    }
+
+    /**
+     * Adds the remaining bytes of the buffer, which follow the bytes added so far.
+     * The buffer position is not changed.
+     */
+    public void update(ByteBuffer b) {
+        _checksum.update(b);
+        ByteBuffer d = b.duplicate();
+        long start = _length;
+        long end = start + d.remaining();
+        digest(d, start, end, 0, _checksumOffset);
+        digest(d, start, end, _checksumOffset + 4, _certificateEntryOffset);
+
+        if (_certificatesSize > 0) {
+            digest(d, start, end, _certificateEntryOffset + 8, _certificatesOffset);
+            digest(d, start, end, _certificatesOffset + _certificatesSize, Long.MAX_VALUE);
+        } else {
+            digest(d, start, end, _certificateEntryOffset + 8, Long.MAX_VALUE);
+        }
+
+        _length = end;
+    }
+
+    /**
+     * Digests the part of the buffer, which holds file range [start, end), that falls into [from, to).
+     */
+    private void digest(ByteBuffer b, long start, long end, long from, long to) {
+        long s = Math.max(start, from);
+        long e = Math.min(end, to);
+
+        if (s < e) {
+            int base = b.position();
+            b.limit(base + (int) (e - start)).position(base + (int) (s - start));
+            _digest.update(b);
+            b.limit(base + (int) (end - start)).position(base);
+        }
+    }
+
+    public long getLength() {
+        return _length;
+    }
+
+    public long getChecksumOffset() {
+        return _checksumOffset;
+    }
+
+    public long getChecksum() {
+        return _checksum.getValue();
+    }
+
+    public String getAlgorithm() {
+        return _digest.getAlgorithm();
+    }
+
+    /**
+     * @return Digest of the bytes added so far, more can be added afterwards.
+     */
+    public byte[] getDigest() {
+        try {
+            return ((MessageDigest) _digest.clone()).digest();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Stores the checksum in the optional header of the file.
+     */
+    public void writeChecksum(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+
+        try {
+            PeChecksum.write(raf.getChannel(), _checksumOffset, getChecksum());
+        } finally {
+            Util.close(raf);
+        }
+    }
+
+    /**
+     * Streams the whole file through a new digester.
+     */
+    public static PeDigester digest(File file, String algorithm) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+        try {
+            FileChannel ch = raf.getChannel();
+            ByteBuffer b = ByteBuffer.allocate((int) Math.min(ch.size(), BUFFER_SIZE));
+            ch.read(b, 0);
+            b.flip();
+            PeDigester digester = new PeDigester(b, algorithm);
+            long pos = 0;
+
+            while (b.hasRemaining()) {
+                digester.update(b);
+                pos += b.remaining();
+                b.clear();
+
+                if (ch.read(b, pos) < 0) {
+                    break;
+                }
+
+                b.flip();
+            }
+
+            return digester;
+        } finally {
+            Util.close(raf);
+        }
+    }
+}
@@ -0,0 +1,519 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.pe;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.launch4j.Util;
+import net.sf.launch4j.ZipEndHeader;
+
+/**
+ * Read-only view of a PE image. The file is memory mapped, so only the headers and the parts that are accessed are
+ * actually read, nothing is copied to the heap.
+ */
+public class PeImage {
+    public static final int PE32 = 0x10b;
+    public static final int PE32_PLUS = 0x20b;
+
+    public static final int SUBSYSTEM_WINDOWS_GUI = 2;
+    public static final int SUBSYSTEM_WINDOWS_CUI = 3;
+
+    public static final int EXPORT_TABLE = 0;
+    public static final int IMPORT_TABLE = 1;
+    public static final int RESOURCE_TABLE = 2;
+    public static final int CERTIFICATE_TABLE = 4;
+    public static final int BASE_RELOCATION_TABLE = 5;
+
+    private static final int PE_SIGNATURE = 0x00004550;
+    private static final int MZ_SIGNATURE = 0x5A4D;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    private final File _file;
+    private final ByteBuffer _image;
+    private int _peOffset;
+    private int _machine;
+    private int _timeDateStamp;
+    private int _characteristics;
+    private int _optionalHeaderOffset;
+    private int _magic;
+    private long _imageBase;
+    private int _sectionAlignment;
+    private int _fileAlignment;
+    private long _sizeOfImage;
+    private int _sizeOfHeaders;
+    private long _checksum;
+    private int _subsystem;
+    private int _numberOfRvaAndSizes;
+    private final List<PeSection> _sections = new ArrayList<PeSection>();
+    private List<PeResource> _resources;
+
+    /**
+     * Maps the file, the mapping stays valid after the file is closed.
+     */
+    public PeImage(File file) throws IOException {
+        _file = file;
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+        try {
+            FileChannel ch = raf.getChannel();
+
+            if (ch.size() > Integer.MAX_VALUE) {
+                throw new IOException(Messages.getString("PeImage.too.large", file.getPath()));
+            }
+
+            _image = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()).order(ByteOrder.LITTLE_ENDIAN);
+        } finally {
+            Util.close(raf);
+        }
+
+        parse();
+    }
+
+    public PeImage(ByteBuffer image) throws IOException {
+        _file = null;
+        _image = image.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        parse();
+    }
+
+    private void parse() throws IOException {
+        try {
+            if ((_image.getShort(0) & 0xFFFF) != MZ_SIGNATURE) {
+                throw new IOException(Messages.getString("PeImage.not.pe", getName()));
+            }
+
+            _peOffset = _image.getInt(0x3C);
+
+            if (_peOffset <= 0 || _image.getInt(_peOffset) != PE_SIGNATURE) {
+                throw new IOException(Messages.getString("PeImage.not.pe", getName()));
+            }
+
+            int coff = _peOffset + 4;
+            _machine = _image.getShort(coff) & 0xFFFF;
+            int numberOfSections = _image.getShort(coff + 2) & 0xFFFF;
+            _timeDateStamp = _image.getInt(coff + 4);
+            int sizeOfOptionalHeader = _image.getShort(coff + 16) & 0xFFFF;
+            _characteristics = _image.getShort(coff + 18) & 0xFFFF;
+            _optionalHeaderOffset = coff + 20;
+            int opt = _optionalHeaderOffset;
+            _magic = _image.getShort(opt) & 0xFFFF;
+
+            if (_magic != PE32 && _magic != PE32_PLUS) {
+                throw new IOException(Messages.getString("PeImage.not.pe", getName()));
+            }
+
+            _imageBase = _magic == PE32 ? _image.getInt(opt + 28) & 0xFFFFFFFFL : _image.getLong(opt + 24);
+            _sectionAlignment = _image.getInt(opt + 32);
+            _fileAlignment = _image.getInt(opt + 36);
+            _sizeOfImage = _image.getInt(opt + 56) & 0xFFFFFFFFL;
+            _sizeOfHeaders = _image.getInt(opt + 60);
+            _checksum = _image.getInt(opt + 64) & 0xFFFFFFFFL;
+            _subsystem = _image.getShort(opt + 68) & 0xFFFF;
+            _numberOfRvaAndSizes = _image.getInt(opt + (_magic == PE32 ? 92 : 108));
+
+            for (int i = 0; i < numberOfSections; i++) {
+                _sections.add(new PeSection(_image, opt + sizeOfOptionalHeader + i * PeSection.HEADER_SIZE));
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException(Messages.getString("PeImage.truncated", getName()));
+        }
+    }
+
+    private String getName() {
+        return _file != null ? _file.getPath() : "";
+    }
+
+    public File getFile() {
+        return _file;
+    }
+
+    /**
+     * @return Read-only little-endian view of the whole file.
+     */
+    public ByteBuffer getImage() {
+        return _image.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public long getSize() {
+        return _image.limit();
+    }
+
+    public int getPeOffset() {
+        return _peOffset;
+    }
+
+    public int getMachine() {
+        return _machine;
+    }
+
+    public int getTimeDateStamp() {
+        return _timeDateStamp;
+    }
+
+    public int getCharacteristics() {
+        return _characteristics;
+    }
+
+    public int getOptionalHeaderOffset() {
+        return _optionalHeaderOffset;
+    }
+
+    /**
+     * @return PE32 or PE32_PLUS.
+     */
+    public int getMagic() {
+        return _magic;
+    }
+
+    public long getImageBase() {
+        return _imageBase;
+    }
+
+    public int getSectionAlignment() {
+        return _sectionAlignment;
+    }
+
+    public int getFileAlignment() {
+        return _fileAlignment;
+    }
+
+    public long getSizeOfImage() {
+        return _sizeOfImage;
+    }
+
+    public int getSizeOfHeaders() {
+        return _sizeOfHeaders;
+    }
+
+    public long getChecksum() {
+        return _checksum;
+    }
+
+    /**
+     * File offset of the checksum field.
+     */
+    public int getChecksumOffset() {
+        return _optionalHeaderOffset + 64;
+    }
+
+    public int getSubsystem() {
+        return _subsystem;
+    }
+
+    public int getNumberOfRvaAndSizes() {
+        return _numberOfRvaAndSizes;
+    }
+
+    /**
+     * File offset of the data directory entry.
+     */
+    public int getDataDirectoryOffset(int index) {
+        return _optionalHeaderOffset + (_magic == PE32 ? 96 : 112) + index * 8;
+    }
+
+    /**
+     * @return RVA of the data directory, the certificate table entry contains a file offset instead.
+     */
+    public long getDataDirectoryAddress(int index) {
+        return index < _numberOfRvaAndSizes ? _image.getInt(getDataDirectoryOffset(index)) & 0xFFFFFFFFL : 0;
+    }
+
+    public long getDataDirectorySize(int index) {
+        return index < _numberOfRvaAndSizes ? _image.getInt(getDataDirectoryOffset(index) + 4) & 0xFFFFFFFFL : 0;
+    }
+
+    public List<PeSection> getSections() {
+        return Collections.unmodifiableList(_sections);
+    }
+
+    public PeSection getSection(String name) {
+        for (PeSection s : _sections) {
+            if (s.getName().equals(name)) {
+                return s;
+            }
+        }
+
+        return null;
+    }
+
+    public PeSection getSectionByRva(long rva) {
+        for (PeSection s : _sections) {
+            if (s.contains(rva)) {
+                return s;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return File offset of the RVA or -1 if it's not backed by the file.
+     */
+    public long rvaToOffset(long rva) {
+        PeSection s = getSectionByRva(rva);
+
+        if (s == null || rva - s.getVirtualAddress() >= s.getSizeOfRawData()) {
+            return -1;
+        }
+
+        return s.getPointerToRawData() + rva - s.getVirtualAddress();
+    }
+
+    /**
+     * Data appended after the last section, such as the wrapped jar and the signature.
+     */
+    public long getOverlayOffset() {
+        long offset = _sizeOfHeaders;
+
+        for (PeSection s : _sections) {
+            if (s.getSizeOfRawData() > 0) {
+                offset = Math.max(offset, s.getPointerToRawData() + s.getSizeOfRawData());
+            }
+        }
+
+        return Math.min(offset, getSize());
+    }
+
+    public long getOverlayLength() {
+        return getSize() - getOverlayOffset();
+    }
+
+    /**
+     * @return Overlay without the certificate table appended by signing, unless it's part of the zip comment.
+     */
+    public long getUnsignedOverlayLength() {
+        long certificates = getDataDirectoryAddress(CERTIFICATE_TABLE);
+        long len = getOverlayLength();
+
+        if (certificates >= getOverlayOffset() && getOverlayJar() == null) {
+            len = certificates - getOverlayOffset();
+        }
+
+        return len;
+    }
+
+    public ByteBuffer getOverlay() {
+        ByteBuffer b = getImage();
+        b.position((int) getOverlayOffset());
+        return b.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Checks that the overlay is a zip archive: the end header, every central directory header and the first local
+     * header must be in place.
+     *
+     * @return End header of the overlay jar or null if the overlay isn't a valid jar.
+     */
+    public ZipEndHeader getOverlayJar() {
+        long overlay = getOverlayOffset();
+
+        if (getOverlayLength() < ZipEndHeader.SIZE) {
+            return null;
+        }
+
+        try {
+            ZipEndHeader header = ZipEndHeader.find(_image);
+
+            if (header == null || header.getCentralDirectoryPosition() < overlay
+                    || header.getCentralDirectorySize() > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            int p = (int) header.getCentralDirectoryPosition();
+            int end = p + (int) header.getCentralDirectorySize();
+            long entries = 0;
+            long firstLocalHeader = -1;
+
+            while (p < end) {
+                if (_image.getInt(p) != CENTRAL_HEADER_SIGNATURE) {
+                    return null;
+                }
+
+                if (firstLocalHeader == -1) {
+                    firstLocalHeader = (_image.getInt(p + 42) & 0xFFFFFFFFL) + header.getPrefixLength();
+                }
+
+                p += 46 + (_image.getShort(p + 28) & 0xFFFF) + (_image.getShort(p + 30) & 0xFFFF)
+                        + (_image.getShort(p + 32) & 0xFFFF);
+                entries++;
+            }
+
+            if (p != end || entries != header.getEntries()) {
+                return null;
+            }
+
+            if (entries > 0 && (firstLocalHeader < overlay || firstLocalHeader > getSize() - 4
+                    || _image.getInt((int) firstLocalHeader) != LOCAL_HEADER_SIGNATURE)) {
+                return null;
+            }
+
+            return header;
+        } catch (IOException e) {
+            return null;
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    public boolean isOverlayJar() {
+        return getOverlayJar() != null;
+    }
+
+    /**
+     * @return Resource leaves in tree order, parsed on first access.
+     */
+    public synchronized List<PeResource> getResources() throws IOException {
+        if (_resources == null) {
+            List<PeResource> resources = new ArrayList<PeResource>();
+            long rva = getDataDirectoryAddress(RESOURCE_TABLE);
+
+            if (rva != 0) {
+                long base = rvaToOffset(rva);
+
+                if (base == -1) {
+                    throw new IOException(Messages.getString("PeImage.invalid.resources", getName()));
+                }
+
+                try {
+                    parseResources(resources, (int) base, 0, 0, null, 0, null, 0);
+                } catch (IndexOutOfBoundsException e) {
+                    throw new IOException(Messages.getString("PeImage.invalid.resources", getName()));
+                } catch (BufferUnderflowException e) {
+                    throw new IOException(Messages.getString("PeImage.invalid.resources", getName()));
+                }
+            }
+
+            _resources = Collections.unmodifiableList(resources);
+        }
+
+        return _resources;
+    }
+
+    private void parseResources(List<PeResource> resources, int base, int dir, int level, String typeName,
+            int type, String name, int id) throws IOException {
+        if (level > 2) {
+            throw new IOException(Messages.getString("PeImage.invalid.resources", getName()));
+        }
+
+        int p = base + dir;
+        int count = (_image.getShort(p + 12) & 0xFFFF) + (_image.getShort(p + 14) & 0xFFFF);
+
+        for (int i = 0; i < count; i++) {
+            int entry = p + 16 + i * 8;
+            int nameField = _image.getInt(entry);
+            int offset = _image.getInt(entry + 4);
+            String entryName = nameField < 0 ? readName(base + (nameField & 0x7FFFFFFF)) : null;
+            int entryId = nameField < 0 ? -1 : nameField & 0xFFFF;
+
+            if (offset < 0) {
+                if (level == 0) {
+                    parseResources(resources, base, offset & 0x7FFFFFFF, 1, entryName, entryId, null, 0);
+                } else {
+                    parseResources(resources, base, offset & 0x7FFFFFFF, 2, typeName, type, entryName, entryId);
+                }
+            } else {
+                if (level != 2) {
+                    throw new IOException(Messages.getString("PeImage.invalid.resources", getName()));
+                }
+
+                int dataEntry = base + offset;
+                long dataRva = _image.getInt(dataEntry) & 0xFFFFFFFFL;
+                int size = _image.getInt(dataEntry + 4);
+                int codepage = _image.getInt(dataEntry + 8);
+                long dataOffset = rvaToOffset(dataRva);
+
+                if (dataOffset == -1 || size < 0 || dataOffset + size > getSize()) {
+                    throw new IOException(Messages.getString("PeImage.invalid.resources", getName()));
+                }
+
+                ByteBuffer data = getImage();
+                data.position((int) dataOffset);
+                data.limit((int) dataOffset + size);
+                resources.add(new PeResource(type, typeName, id, name, entryId, dataEntry, dataRva, size, codepage,
+                        data.slice().asReadOnlyBuffer()));
+            }
+        }
+    }
+
+    private String readName(int offset) {
+        int len = _image.getShort(offset) & 0xFFFF;
+        StringBuilder sb = new StringBuilder(len);
+
+        for (int i = 0; i < len; i++) {
+            sb.append(_image.getChar(offset + 2 + i * 2));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * @return First resource with the type and id in any language or null.
+     */
+    public PeResource getResource(int type, int id) throws IOException {
+        for (PeResource r : getResources()) {
+            if (r.getType() == type && r.getId() == id) {
+                return r;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return Resources of the type in tree order.
+     */
+    public List<PeResource> getResources(int type) throws IOException {
+        List<PeResource> resources = new ArrayList<PeResource>();
+
+        for (PeResource r : getResources()) {
+            if (r.getType() == type) {
+                resources.add(r);
+            }
+        }
+
+        return resources;
+    }
+}
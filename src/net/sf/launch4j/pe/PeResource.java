@@ -0,0 +1,140 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.pe;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Resource data entry of a PE image, a leaf of the type / name / language resource tree.
+ */
+public class PeResource {
+    public static final int RT_ICON = 3;
+    public static final int RT_BITMAP = 2;
+    public static final int RT_RCDATA = 10;
+    public static final int RT_GROUP_ICON = 14;
+    public static final int RT_VERSION = 16;
+    public static final int RT_MANIFEST = 24;
+
+    private final int _type;
+    private final String _typeName;
+    private final int _id;
+    private final String _name;
+    private final int _language;
+    private final int _entryOffset;
+    private final long _dataRva;
+    private final int _size;
+    private final int _codepage;
+    private final ByteBuffer _data;
+
+    PeResource(int type, String typeName, int id, String name, int language, int entryOffset, long dataRva,
+            int size, int codepage, ByteBuffer data) {
+        _type = type;
+        _typeName = typeName;
+        _id = id;
+        _name = name;
+        _language = language;
+        _entryOffset = entryOffset;
+        _dataRva = dataRva;
+        _size = size;
+        _codepage = codepage;
+        _data = data;
+    }
+
+    /**
+     * @return Resource type id or -1 if the type is named.
+     */
+    public int getType() {
+        return _type;
+    }
+
+    public String getTypeName() {
+        return _typeName;
+    }
+
+    /**
+     * @return Resource id or -1 if the resource is named.
+     */
+    public int getId() {
+        return _id;
+    }
+
+    public String getName() {
+        return _name;
+    }
+
+    public int getLanguage() {
+        return _language;
+    }
+
+    /**
+     * File offset of the resource data entry.
+     */
+    public int getEntryOffset() {
+        return _entryOffset;
+    }
+
+    public long getDataRva() {
+        return _dataRva;
+    }
+
+    public int getSize() {
+        return _size;
+    }
+
+    public int getCodepage() {
+        return _codepage;
+    }
+
+    /**
+     * @return Read-only view of the resource data.
+     */
+    public ByteBuffer getData() {
+        return _data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public byte[] getBytes() {
+        byte[] bytes = new byte[_size];
+        getData().get(bytes);
+        return bytes;
+    }
+
+    public String toString() {
+        return (_typeName != null ? _typeName : String.valueOf(_type)) + '/'
+                + (_name != null ? _name : String.valueOf(_id)) + '/' + _language;
+    }
+}
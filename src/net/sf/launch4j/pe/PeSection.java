@@ -0,0 +1,112 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.pe;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Section header of a PE image.
+ */
+public class PeSection {
+    public static final int HEADER_SIZE = 40;
+
+    private final int _headerOffset;
+    private final String _name;
+    private final long _virtualSize;
+    private final long _virtualAddress;
+    private final long _sizeOfRawData;
+    private final long _pointerToRawData;
+    private final int _characteristics;
+
+    PeSection(ByteBuffer image, int headerOffset) {
+        _headerOffset = headerOffset;
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < 8 && image.get(headerOffset + i) != 0; i++) {
+            sb.append((char) (image.get(headerOffset + i) & 0xFF));
+        }
+
+        _name = sb.toString();
+        _virtualSize = image.getInt(headerOffset + 8) & 0xFFFFFFFFL;
+        _virtualAddress = image.getInt(headerOffset + 12) & 0xFFFFFFFFL;
+        _sizeOfRawData = image.getInt(headerOffset + 16) & 0xFFFFFFFFL;
+        _pointerToRawData = image.getInt(headerOffset + 20) & 0xFFFFFFFFL;
+        _characteristics = image.getInt(headerOffset + 36);
+    }
+
+    /**
+     * File offset of the section header.
+     */
+    public int getHeaderOffset() {
+        return _headerOffset;
+    }
+
+    public String getName() {
+        return _name;
+    }
+
+    public long getVirtualSize() {
+        return _virtualSize;
+    }
+
+    public long getVirtualAddress() {
+        return _virtualAddress;
+    }
+
+    public long getSizeOfRawData() {
+        return _sizeOfRawData;
+    }
+
+    public long getPointerToRawData() {
+        return _pointerToRawData;
+    }
+
+    public int getCharacteristics() {
+        return _characteristics;
+    }
+
+    /**
+     * @return True if the RVA is within the section.
+     */
+    public boolean contains(long rva) {
+        return rva >= _virtualAddress && rva < _virtualAddress + Math.max(_virtualSize, _sizeOfRawData);
+    }
+
+    public String toString() {
+        return _name;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.pe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decoded VERSIONINFO resource: the fixed file info, the strings of the first string table and the first translation.
+ */
+public class PeVersionInfo {
+    private static final int FIXED_FILE_INFO_SIGNATURE = 0xFEEF04BD;
+
+    private String _fileVersion;
+    private String _productVersion;
+    private String _stringTable;
+    private final Map<String, String> _strings = new LinkedHashMap<String, String>();
+    private int _language = -1;
+    private int _charset = -1;
+
+    public PeVersionInfo(PeResource resource) throws IOException {
+        ByteBuffer b = resource.getData();
+
+        try {
+            parseBlock(b, 0, 0, null);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException(Messages.getString("PeVersionInfo.invalid"));
+        }
+
+        if (_fileVersion == null) {
+            throw new IOException(Messages.getString("PeVersionInfo.invalid"));
+        }
+    }
+
+    /**
+     * @return Offset of the next block.
+     */
+    private int parseBlock(ByteBuffer b, int offset, int level, String parent) throws IOException {
+        int len = b.getShort(offset) & 0xFFFF;
+        int valueLen = b.getShort(offset + 2) & 0xFFFF;
+        int type = b.getShort(offset + 4) & 0xFFFF;
+        int end = offset + len;
+
+        if (len < 6 || end > b.limit()) {
+            throw new IOException(Messages.getString("PeVersionInfo.invalid"));
+        }
+
+        StringBuilder key = new StringBuilder();
+        int p = offset + 6;
+
+        for (char c; p < end && (c = b.getChar(p)) != 0; p += 2) {
+            key.append(c);
+        }
+
+        p = align(p + 2);
+        int valueEnd = Math.min(end, p + (type == 1 ? valueLen * 2 : valueLen));
+
+        if (level == 0) {
+            if (valueLen >= 52 && b.getInt(p) == FIXED_FILE_INFO_SIGNATURE) {
+                _fileVersion = version(b.getInt(p + 8), b.getInt(p + 12));
+                _productVersion = version(b.getInt(p + 16), b.getInt(p + 20));
+            }
+        } else if (level == 2 && "StringFileInfo".equals(parent) && _stringTable == null) {
+            _stringTable = key.toString();
+        } else if (level == 3 && key.length() > 0 && parent.equals(_stringTable)) {
+            StringBuilder value = new StringBuilder();
+
+            for (char c; p + 1 < end && (c = b.getChar(p)) != 0; p += 2) {
+                value.append(c);
+            }
+
+            _strings.put(key.toString(), value.toString());
+        } else if (level == 2 && "VarFileInfo".equals(parent) && "Translation".equals(key.toString())
+                && valueLen >= 4 && _language == -1) {
+            _language = b.getShort(p) & 0xFFFF;
+            _charset = b.getShort(p + 2) & 0xFFFF;
+        }
+
+        if (level < 3) {
+            for (int child = align(Math.max(valueEnd, p)); child + 6 <= end; child = align(child)) {
+                child = parseBlock(b, child, level + 1, key.toString());
+            }
+        }
+
+        return end;
+    }
+
+    private int align(int offset) {
+        return (offset + 3) & ~3;
+    }
+
+    private String version(int ms, int ls) {
+        return ((ms >>> 16) & 0xFFFF) + "." + (ms & 0xFFFF) + "." + ((ls >>> 16) & 0xFFFF) + "." + (ls & 0xFFFF);
+    }
+
+    public String getFileVersion() {
+        return _fileVersion;
+    }
+
+    public String getProductVersion() {
+        return _productVersion;
+    }
+
+    /**
+     * @return Strings of the first string table, such as CompanyName or FileDescription.
+     */
+    public Map<String, String> getStrings() {
+        return Collections.unmodifiableMap(_strings);
+    }
+
+    public String getString(String key) {
+        return _strings.get(key);
+    }
+
+    /**
+     * @return Language id of the first translation or -1.
+     */
+    public int getLanguage() {
+        return _language;
+    }
+
+    public int getCharset() {
+        return _charset;
+    }
+}
@@ -0,0 +1,310 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.pe;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import net.sf.launch4j.JarWrapper;
+import net.sf.launch4j.Util;
+import net.sf.launch4j.ZipEndHeader;
+
+/**
+ * Replaces the resource section of an existing executable in place, without relinking the header.
+ * The section may grow only if it's followed by nothing but the base relocations, in which case
+ * the relocations and the overlay are moved and the offsets of a wrapped jar are rewritten.
+ * An existing signature is removed, since it no longer matches the image.
+ */
+public class ResourcePatcher {
+    private static final String RESOURCE_SECTION = ".rsrc";
+    private static final String RELOCATION_SECTION = ".reloc";
+    private static final int MAX_HEADERS_SIZE = 64 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File _exe;
+    private final String _digestAlgorithm;
+    private PeDigester _digester;
+
+    public ResourcePatcher(File exe) {
+        this(exe, PeDigester.DEFAULT_ALGORITHM);
+    }
+
+    /**
+     * @param digestAlgorithm Algorithm of the Authenticode digest computed after patching.
+     */
+    public ResourcePatcher(File exe, String digestAlgorithm) {
+        _exe = exe;
+        _digestAlgorithm = digestAlgorithm;
+    }
+
+    /**
+     * @return Checksum and digest of the patched executable.
+     */
+    public PeDigester getDigester() {
+        return _digester;
+    }
+
+    /**
+     * @return false if the layout of the executable doesn't allow patching, the file is left unchanged.
+     */
+    public boolean patch(ResourceTable resources) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(_exe, "rw");
+        boolean relocateJar;
+
+        try {
+            FileChannel ch = raf.getChannel();
+            PeImage pe = readHeaders(ch);
+            PeSection rsrc = pe.getSection(RESOURCE_SECTION);
+
+            if (rsrc == null || rsrc.getVirtualAddress() != pe.getDataDirectoryAddress(PeImage.RESOURCE_TABLE)) {
+                return false;
+            }
+
+            byte[] data = resources.toByteArray(rsrc.getVirtualAddress());
+            long rawSize = align(data.length, pe.getFileAlignment());
+            long rawDelta = Math.max(0, rawSize - rsrc.getSizeOfRawData());
+            PeSection reloc = null;
+
+            for (PeSection s : pe.getSections()) {
+                if (s.getVirtualAddress() > rsrc.getVirtualAddress()) {
+                    if (!RELOCATION_SECTION.equals(s.getName()) || reloc != null) {
+                        if (rawDelta > 0) {
+                            return false;
+                        }
+                    } else {
+                        reloc = s;
+                    }
+                }
+            }
+
+            stripSignature(ch, pe);
+            ZipEndHeader jar = ZipEndHeader.find(ch);
+            relocateJar = rawDelta > 0 && jar != null && jar.getCentralDirectoryPosition() >= getOverlayOffset(pe);
+            int opt = pe.getOptionalHeaderOffset();
+
+            if (rawDelta > 0) {
+                long tail = rsrc.getPointerToRawData() + rsrc.getSizeOfRawData();
+                move(ch, tail, rawDelta);
+
+                if (reloc != null) {
+                    long virtualEnd = rsrc.getVirtualAddress() + align(data.length, pe.getSectionAlignment());
+                    long vaDelta = Math.max(0, virtualEnd - reloc.getVirtualAddress());
+                    putInt(ch, reloc.getHeaderOffset() + 12, reloc.getVirtualAddress() + vaDelta);
+                    putInt(ch, reloc.getHeaderOffset() + 20, reloc.getPointerToRawData() + rawDelta);
+                    putInt(ch, pe.getDataDirectoryOffset(PeImage.BASE_RELOCATION_TABLE),
+                            pe.getDataDirectoryAddress(PeImage.BASE_RELOCATION_TABLE) + vaDelta);
+                }
+
+                putInt(ch, rsrc.getHeaderOffset() + 16, rawSize);
+                putInt(ch, opt + 8, (getInt(ch, opt + 8) & 0xFFFFFFFFL) + rawDelta); // SizeOfInitializedData
+            }
+
+            ByteBuffer b = ByteBuffer.allocate((int) Math.max(rawSize, rsrc.getSizeOfRawData()));
+            b.put(data);
+            b.clear();
+            write(ch, rsrc.getPointerToRawData(), b);
+            putInt(ch, rsrc.getHeaderOffset() + 8, data.length);
+            putInt(ch, pe.getDataDirectoryOffset(PeImage.RESOURCE_TABLE) + 4, data.length);
+            putInt(ch, opt + 56, getSizeOfImage(ch, pe));
+        } finally {
+            Util.close(raf);
+        }
+
+        if (relocateJar) {
+            new JarWrapper().relocate(_exe);
+        }
+
+        _digester = PeDigester.digest(_exe, _digestAlgorithm);
+        _digester.writeChecksum(_exe);
+        return true;
+    }
+
+    /**
+     * Reads only the headers, the file isn't mapped so it can be resized afterwards.
+     */
+    public PeImage readHeaders() throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(_exe, "r");
+
+        try {
+            return readHeaders(raf.getChannel());
+        } finally {
+            Util.close(raf);
+        }
+    }
+
+    /**
+     * @return true if the executable wraps a jar.
+     */
+    public boolean isWrapped() throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(_exe, "r");
+
+        try {
+            FileChannel ch = raf.getChannel();
+            ZipEndHeader jar = ZipEndHeader.find(ch);
+            return jar != null && jar.getCentralDirectoryPosition() >= getOverlayOffset(readHeaders(ch));
+        } finally {
+            Util.close(raf);
+        }
+    }
+
+    /**
+     * Truncates the executable to the end of its image, removing the wrapped jar and the signature. The checksum
+     * isn't updated, the caller wraps the jar again.
+     */
+    public void unwrap() throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(_exe, "rw");
+
+        try {
+            FileChannel ch = raf.getChannel();
+            PeImage pe = readHeaders(ch);
+            ch.truncate(getOverlayOffset(pe));
+            putInt(ch, pe.getDataDirectoryOffset(PeImage.CERTIFICATE_TABLE), 0);
+            putInt(ch, pe.getDataDirectoryOffset(PeImage.CERTIFICATE_TABLE) + 4, 0);
+        } finally {
+            Util.close(raf);
+        }
+    }
+
+    private PeImage readHeaders(FileChannel ch) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate((int) Math.min(ch.size(), MAX_HEADERS_SIZE));
+        ch.read(b, 0);
+        b.flip();
+        return new PeImage(b);
+    }
+
+    /**
+     * Truncates the certificate table and shortens the zip comment that covered it.
+     */
+    private void stripSignature(FileChannel ch, PeImage pe) throws IOException {
+        long certificates = pe.getDataDirectoryAddress(PeImage.CERTIFICATE_TABLE);
+
+        if (pe.getDataDirectorySize(PeImage.CERTIFICATE_TABLE) == 0 || certificates < getOverlayOffset(pe)
+                || certificates > ch.size()) {
+            return;
+        }
+
+        ZipEndHeader header = ZipEndHeader.find(ch);
+
+        if (header != null && header.getPosition() + ZipEndHeader.SIZE <= certificates
+                && header.getPosition() + ZipEndHeader.SIZE + header.getCommentLength() == ch.size()) {
+            ByteBuffer len = ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN);
+            len.putShort(0, (short) (certificates - header.getPosition() - ZipEndHeader.SIZE));
+            write(ch, header.getCommentLengthPosition(), len);
+        }
+
+        ch.truncate(certificates);
+        putInt(ch, pe.getDataDirectoryOffset(PeImage.CERTIFICATE_TABLE), 0);
+        putInt(ch, pe.getDataDirectoryOffset(PeImage.CERTIFICATE_TABLE) + 4, 0);
+    }
+
+    /**
+     * Moves everything from position to the end of the file forward by delta, last chunk first.
+     */
+    private void move(FileChannel ch, long position, long delta) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(BUFFER_SIZE);
+        long end = ch.size();
+
+        while (end > position) {
+            int len = (int) Math.min(BUFFER_SIZE, end - position);
+            long start = end - len;
+            b.clear().limit(len);
+
+            while (b.hasRemaining()) {
+                if (ch.read(b, start + b.position()) < 0) {
+                    throw new IOException(Messages.getString("PeImage.truncated", _exe.getPath()));
+                }
+            }
+
+            b.flip();
+            write(ch, start + delta, b);
+            end = start;
+        }
+    }
+
+    /**
+     * The headers alone don't know the file size, unlike {@link PeImage#getOverlayOffset()}.
+     */
+    private long getOverlayOffset(PeImage pe) {
+        long offset = pe.getSizeOfHeaders();
+
+        for (PeSection s : pe.getSections()) {
+            if (s.getSizeOfRawData() > 0) {
+                offset = Math.max(offset, s.getPointerToRawData() + s.getSizeOfRawData());
+            }
+        }
+
+        return offset;
+    }
+
+    private long getSizeOfImage(FileChannel ch, PeImage pe) throws IOException {
+        PeImage patched = readHeaders(ch);
+        long end = patched.getSizeOfHeaders();
+
+        for (PeSection s : patched.getSections()) {
+            long size = s.getVirtualSize() != 0 ? s.getVirtualSize() : s.getSizeOfRawData();
+            end = Math.max(end, s.getVirtualAddress() + size);
+        }
+
+        return align(end, pe.getSectionAlignment());
+    }
+
+    private int getInt(FileChannel ch, long position) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        ch.read(b, position);
+        return b.getInt(0);
+    }
+
+    private void putInt(FileChannel ch, long position, long value) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        b.putInt(0, (int) value);
+        write(ch, position, b);
+    }
+
+    private void write(FileChannel ch, long position, ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) {
+            position += ch.write(b, position);
+        }
+    }
+
+    private static long align(long value, long alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+}
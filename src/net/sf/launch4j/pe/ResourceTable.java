@@ -0,0 +1,192 @@
+/*
+	Launch4j (http://launch4j.sourceforge.net/)
+	Cross-platform Java application wrapper for creating Windows native executables.
+
+	Copyright (c) 2004, 2015 Grzegorz Kowal
+	All rights reserved.
+
+	Redistribution and use in source and binary forms, with or without modification,
+	are permitted provided that the following conditions are met:
+	
+	1. Redistributions of source code must retain the above copyright notice,
+	   this list of conditions and the following disclaimer.
+	
+	2. Redistributions in binary form must reproduce the above copyright notice,
+	   this list of conditions and the following disclaimer in the documentation
+	   and/or other materials provided with the distribution.
+	
+	3. Neither the name of the copyright holder nor the names of its contributors
+	   may be used to endorse or promote products derived from this software without
+	   specific prior written permission.
+	
+	THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+	AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+	THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+	ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+	FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+	AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+	OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+	OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+/*
+ * Created on Oct 19, 2026
+ */
+package net.sf.launch4j.pe;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resources of a PE image keyed by type, id and language, serialized into the
+ * layout of a .rsrc section.
+ */
+public class ResourceTable {
+    private static final int DIRECTORY_SIZE = 16;
+    private static final int DIRECTORY_ENTRY_SIZE = 8;
+    private static final int DATA_ENTRY_SIZE = 16;
+    private static final int DATA_ALIGNMENT = 8;
+
+    private final Map<Integer, Map<Integer, Map<Integer, byte[]>>> _types
+            = new TreeMap<Integer, Map<Integer, Map<Integer, byte[]>>>();
+
+    public void put(int type, int id, int language, byte[] data) {
+        Map<Integer, Map<Integer, byte[]>> ids = _types.get(type);
+
+        if (ids == null) {
+            ids = new TreeMap<Integer, Map<Integer, byte[]>>();
+            _types.put(type, ids);
+        }
+
+        Map<Integer, byte[]> languages = ids.get(id);
+
+        if (languages == null) {
+            languages = new TreeMap<Integer, byte[]>();
+            ids.put(id, languages);
+        }
+
+        languages.put(language, data);
+    }
+
+    public byte[] get(int type, int id, int language) {
+        Map<Integer, Map<Integer, byte[]>> ids = _types.get(type);
+        Map<Integer, byte[]> languages = ids != null ? ids.get(id) : null;
+        return languages != null ? languages.get(language) : null;
+    }
+
+    public boolean isEmpty() {
+        return _types.isEmpty();
+    }
+
+    /**
+     * Lays out the directory tables breadth first, followed by the data entries
+     * and the 8 byte aligned resource data, like the GNU linker does.
+     *
+     * @param virtualAddress RVA of the section, data entries hold absolute RVAs.
+     */
+    public byte[] toByteArray(long virtualAddress) {
+        int directories = 1 + _types.size();
+        int entries = _types.size();
+        int leaves = 0;
+        int dataSize = 0;
+
+        for (Map<Integer, Map<Integer, byte[]>> ids : _types.values()) {
+            directories += ids.size();
+            entries += ids.size();
+
+            for (Map<Integer, byte[]> languages : ids.values()) {
+                entries += languages.size();
+                leaves += languages.size();
+
+                for (byte[] data : languages.values()) {
+                    dataSize += align(data.length, DATA_ALIGNMENT);
+                }
+            }
+        }
+
+        int tablesSize = directories * DIRECTORY_SIZE + entries * DIRECTORY_ENTRY_SIZE;
+        int dataEntriesOffset = tablesSize;
+        int dataOffset = align(dataEntriesOffset + leaves * DATA_ENTRY_SIZE, DATA_ALIGNMENT);
+        ByteBuffer b = ByteBuffer.allocate(dataOffset + dataSize).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Directory offsets per tree level, the root table is followed by the type tables.
+        int next = DIRECTORY_SIZE + _types.size() * DIRECTORY_ENTRY_SIZE;
+        int root = 0;
+        writeDirectory(b, root, _types.size());
+        List<Integer> typeTables = new ArrayList<Integer>();
+        int i = 0;
+
+        for (Map.Entry<Integer, Map<Integer, Map<Integer, byte[]>>> type : _types.entrySet()) {
+            writeEntry(b, root, i++, type.getKey(), next | 0x80000000);
+            typeTables.add(next);
+            next += DIRECTORY_SIZE + type.getValue().size() * DIRECTORY_ENTRY_SIZE;
+        }
+
+        List<Integer> idTables = new ArrayList<Integer>();
+        int t = 0;
+
+        for (Map<Integer, Map<Integer, byte[]>> ids : _types.values()) {
+            int table = typeTables.get(t++);
+            writeDirectory(b, table, ids.size());
+            i = 0;
+
+            for (Map.Entry<Integer, Map<Integer, byte[]>> id : ids.entrySet()) {
+                writeEntry(b, table, i++, id.getKey(), next | 0x80000000);
+                idTables.add(next);
+                next += DIRECTORY_SIZE + id.getValue().size() * DIRECTORY_ENTRY_SIZE;
+            }
+        }
+
+        int n = 0;
+        int dataEntry = dataEntriesOffset;
+        int data = dataOffset;
+
+        for (Map<Integer, Map<Integer, byte[]>> ids : _types.values()) {
+            for (Map<Integer, byte[]> languages : ids.values()) {
+                int table = idTables.get(n++);
+                writeDirectory(b, table, languages.size());
+                i = 0;
+
+                for (Map.Entry<Integer, byte[]> language : languages.entrySet()) {
+                    byte[] bytes = language.getValue();
+                    writeEntry(b, table, i++, language.getKey(), dataEntry);
+                    b.putInt(dataEntry, (int) (virtualAddress + data));
+                    b.putInt(dataEntry + 4, bytes.length);
+                    b.putInt(dataEntry + 8, 0);
+                    b.putInt(dataEntry + 12, 0);
+                    b.position(data);
+                    b.put(bytes);
+                    dataEntry += DATA_ENTRY_SIZE;
+                    data += align(bytes.length, DATA_ALIGNMENT);
+                }
+            }
+        }
+
+        return b.array();
+    }
+
+    private void writeDirectory(ByteBuffer b, int offset, int idEntries) {
+        b.putInt(offset, 0);                        // Characteristics
+        b.putInt(offset + 4, 0);                    // TimeDateStamp
+        b.putShort(offset + 8, (short) 0);          // MajorVersion
+        b.putShort(offset + 10, (short) 0);         // MinorVersion
+        b.putShort(offset + 12, (short) 0);         // NumberOfNamedEntries
+        b.putShort(offset + 14, (short) idEntries); // NumberOfIdEntries
+    }
+
+    private void writeEntry(ByteBuffer b, int directory, int index, int id, int offset) {
+        int entry = directory + DIRECTORY_SIZE + index * DIRECTORY_ENTRY_SIZE;
+        b.putInt(entry, id);
+        b.putInt(entry + 4, offset);
+    }
+
+    static int align(int value, int alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+}